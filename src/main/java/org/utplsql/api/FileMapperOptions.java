@@ -11,6 +11,7 @@ public class FileMapperOptions {
     private Integer ownerSubExpression;
     private Integer typeSubExpression;
     private Integer nameSubExpression;
+    private boolean databaseMapping = false;
 
     public FileMapperOptions(List<String> filePaths) {
         this.setFilePaths(filePaths);
@@ -72,4 +73,18 @@ public class FileMapperOptions {
         this.nameSubExpression = nameSubExpression;
     }
 
+    public boolean isDatabaseMapping() {
+        return databaseMapping;
+    }
+
+    /**
+     * By default the file mappings are built in Java.
+     * Set to true to let ut_file_mapper.build_file_mappings in the database build them instead.
+     *
+     * @param databaseMapping whether to build the mappings in the database
+     */
+    public void setDatabaseMapping(boolean databaseMapping) {
+        this.databaseMapping = databaseMapping;
+    }
+
 }
@@ -0,0 +1,48 @@
+package org.utplsql.api;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the merged outcome of a {@link ParallelTestRunner} run
+ */
+public class ParallelRunResult {
+
+    private final Map<String, List<String>> reporterOutputs;
+    private final boolean testsFailed;
+
+    ParallelRunResult(Map<String, List<String>> reporterOutputs, boolean testsFailed) {
+        this.reporterOutputs = Collections.unmodifiableMap(new LinkedHashMap<>(reporterOutputs));
+        this.testsFailed = testsFailed;
+    }
+
+    /**
+     * Returns the merged output lines of all shards, grouped by the reporter's type name
+     *
+     * @return Map of reporter type name to output lines, in order of the shards
+     */
+    public Map<String, List<String>> getReporterOutputs() {
+        return reporterOutputs;
+    }
+
+    /**
+     * Returns the merged output lines of the given reporter
+     *
+     * @param reporterName type name of the reporter, e.g. UT_DOCUMENTATION_REPORTER
+     * @return output lines or an empty list if the reporter was not part of the run
+     */
+    public List<String> getReporterOutput(String reporterName) {
+        return reporterOutputs.getOrDefault(reporterName.toUpperCase(), Collections.emptyList());
+    }
+
+    /**
+     * Returns whether at least one shard failed because of failing tests (see {@link TestRunner#failOnErrors(boolean)})
+     *
+     * @return true if tests failed
+     */
+    public boolean hasFailedTests() {
+        return testsFailed;
+    }
+}
@@ -0,0 +1,218 @@
+package org.utplsql.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.compatibility.CompatibilityProxy;
+import org.utplsql.api.db.CachedDatabaseInformation;
+import org.utplsql.api.db.ConnectionSupplier;
+import org.utplsql.api.exception.SomeTestsFailedException;
+import org.utplsql.api.reporter.Reporter;
+import org.utplsql.api.testRunner.SuiteDiscovery;
+import org.utplsql.api.testRunner.SuiteDurationHistory;
+import org.utplsql.api.testRunner.SuitePartitioner;
+
+import javax.annotation.Nullable;
+import javax.sql.DataSource;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Consumer;
+
+/**
+ * Runs the given suite paths in parallel, splitting them into shards which are each executed by its own
+ * {@link TestRunner} on its own database session.
+ * <p>
+ * Before splitting, schema paths (or the current schema if no path is given) are expanded to their suite packages
+ * by {@link SuiteDiscovery}, so a run of a single schema is parallelized, too. On frameworks older than 3.1.3
+ * schema paths can't be expanded and a single schema runs in one shard.
+ * <p>
+ * Reporters are given by name, because every shard needs its own reporter instances.
+ * After all shards finished, the output of the reporters is merged by reporter type in the order of the shards.
+ * Be aware that reporters producing a single document (e.g. JUnit or Sonar XML) will produce one document per shard.
+ */
+public class ParallelTestRunner {
+
+    private static final Logger logger = LoggerFactory.getLogger(ParallelTestRunner.class);
+
+    private final ConnectionSupplier connectionSupplier;
+    private final int degreeOfParallelism;
+    private final List<String> pathList = new ArrayList<>();
+    private final List<String> reporterNames = new ArrayList<>();
+    private Consumer<TestRunner> testRunnerConfigurer = testRunner -> { };
+    private Path durationHistoryFile;
+
+    public ParallelTestRunner(ConnectionSupplier connectionSupplier, int degreeOfParallelism) {
+        if (degreeOfParallelism < 1) {
+            throw new IllegalArgumentException("degreeOfParallelism must be at least 1 but was " + degreeOfParallelism);
+        }
+        this.connectionSupplier = Objects.requireNonNull(connectionSupplier);
+        this.degreeOfParallelism = degreeOfParallelism;
+    }
+
+    public ParallelTestRunner(DataSource dataSource, int degreeOfParallelism) {
+        this(dataSource::getConnection, degreeOfParallelism);
+    }
+
+    public ParallelTestRunner addPath(String path) {
+        pathList.add(path);
+        return this;
+    }
+
+    public ParallelTestRunner addPathList(List<String> paths) {
+        pathList.addAll(paths);
+        return this;
+    }
+
+    public ParallelTestRunner addReporter(String reporterName) {
+        reporterNames.add(reporterName);
+        return this;
+    }
+
+    /**
+     * Sets a callback which is applied to the TestRunner of every shard, e.g. to set coverage schemes, tags or failOnErrors.
+     * Paths and reporters should not be added here but directly to the ParallelTestRunner.
+     *
+     * @param testRunnerConfigurer callback to configure the TestRunner of each shard
+     * @return this ParallelTestRunner
+     */
+    public ParallelTestRunner configureTestRunner(Consumer<TestRunner> testRunnerConfigurer) {
+        this.testRunnerConfigurer = Objects.requireNonNull(testRunnerConfigurer);
+        return this;
+    }
+
+    /**
+     * Records the duration of every suite in the given file and uses it to balance the shards of later runs,
+     * see {@link SuitePartitioner#longestProcessingTimeFirst(List, int, java.util.function.ToLongFunction)}.
+     *
+     * @param historyFile the history file or null to distribute the paths round-robin
+     * @return this ParallelTestRunner
+     */
+    public ParallelTestRunner durationHistory(Path historyFile) {
+        this.durationHistoryFile = historyFile;
+        return this;
+    }
+
+    public ParallelRunResult run() throws SQLException {
+
+        List<String> suites = discoverSuites();
+        SuiteDurationHistory history = (durationHistoryFile != null) ? SuiteDurationHistory.load(durationHistoryFile) : null;
+        List<List<String>> shards = (history != null)
+                ? SuitePartitioner.longestProcessingTimeFirst(suites, degreeOfParallelism, history::estimate)
+                : SuitePartitioner.roundRobin(suites, degreeOfParallelism);
+        if (shards.isEmpty()) {
+            // Nothing to expand, so we let a single TestRunner decide (current schema)
+            shards = Collections.singletonList(new ArrayList<>(pathList));
+        }
+
+        logger.info("Running {} suites in {} shards", suites.size(), shards.size());
+
+        ExecutorService executor = Executors.newFixedThreadPool(shards.size());
+        try {
+            List<Future<ShardResult>> futures = new ArrayList<>(shards.size());
+            for (List<String> shard : shards) {
+                futures.add(executor.submit(() -> runShard(shard, history)));
+            }
+
+            return mergeResults(futures);
+        } finally {
+            executor.shutdownNow();
+            if (history != null) {
+                saveHistory(history);
+            }
+        }
+    }
+
+    private List<String> discoverSuites() throws SQLException {
+        try (Connection conn = connectionSupplier.getConnection()) {
+            CompatibilityProxy compatibilityProxy = new CompatibilityProxy(conn);
+            List<String> paths = pathList.isEmpty()
+                    ? Collections.singletonList(CachedDatabaseInformation.shared().getCurrentSchema(conn))
+                    : pathList;
+            return SuiteDiscovery.discover(conn, paths, compatibilityProxy.getUtPlsqlVersion());
+        }
+    }
+
+    private void saveHistory(SuiteDurationHistory history) {
+        try {
+            history.save();
+        } catch (IOException e) {
+            logger.warn("Could not save suite duration history", e);
+        }
+    }
+
+    private ShardResult runShard(List<String> paths, @Nullable SuiteDurationHistory history) throws SQLException {
+        try (Connection conn = connectionSupplier.getConnection()) {
+            TestRunner testRunner = new TestRunner().addPathList(paths);
+            testRunnerConfigurer.accept(testRunner);
+            reporterNames.forEach(testRunner::addReporter);
+            if (history != null) {
+                testRunner.suiteDurationListener(history::record);
+            }
+
+            boolean testsFailed = false;
+            try {
+                testRunner.run(conn);
+            } catch (SomeTestsFailedException e) {
+                testsFailed = true;
+            }
+
+            Map<String, List<String>> outputs = new LinkedHashMap<>();
+            for (Reporter reporter : testRunner.getOptions().reporterList) {
+                outputs.computeIfAbsent(reporter.getTypeName(), k -> new ArrayList<>())
+                        .addAll(reporter.getOutputBuffer().fetchAll(conn));
+            }
+
+            logger.debug("Shard {} finished", paths);
+            return new ShardResult(outputs, testsFailed);
+        }
+    }
+
+    private ParallelRunResult mergeResults(List<Future<ShardResult>> futures) throws SQLException {
+        Map<String, List<String>> mergedOutputs = new LinkedHashMap<>();
+        boolean testsFailed = false;
+        SQLException firstException = null;
+
+        for (Future<ShardResult> future : futures) {
+            try {
+                ShardResult result = future.get();
+                testsFailed |= result.testsFailed;
+                result.outputs.forEach((reporterName, lines) ->
+                        mergedOutputs.computeIfAbsent(reporterName, k -> new ArrayList<>()).addAll(lines));
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for shards to finish", e);
+            } catch (ExecutionException e) {
+                SQLException shardException = (e.getCause() instanceof SQLException)
+                        ? (SQLException) e.getCause()
+                        : new SQLException("Unknown exception in shard, wrapping: " + e.getCause().getMessage(), e.getCause());
+                if (firstException == null) {
+                    firstException = shardException;
+                } else {
+                    firstException.addSuppressed(shardException);
+                }
+            }
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+
+        return new ParallelRunResult(mergedOutputs, testsFailed);
+    }
+
+    private static class ShardResult {
+        private final Map<String, List<String>> outputs;
+        private final boolean testsFailed;
+
+        ShardResult(Map<String, List<String>> outputs, boolean testsFailed) {
+            this.outputs = outputs;
+            this.testsFailed = testsFailed;
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package org.utplsql.api;
+
+import org.utplsql.api.reporter.Reporter;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Holds the outcome of an asynchronous {@link TestRunner} run
+ */
+public class RunResult {
+
+    private final Version usedDatabaseVersion;
+    private final List<Reporter> reporters;
+    private final boolean testsFailed;
+    private final long durationMillis;
+    private final boolean skipped;
+
+    RunResult(Version usedDatabaseVersion, List<Reporter> reporters, boolean testsFailed, long durationMillis, boolean skipped) {
+        this.usedDatabaseVersion = usedDatabaseVersion;
+        this.reporters = Collections.unmodifiableList(reporters);
+        this.testsFailed = testsFailed;
+        this.durationMillis = durationMillis;
+        this.skipped = skipped;
+    }
+
+    /**
+     * Returns the utPLSQL version the run was executed against
+     *
+     * @return the framework version
+     */
+    public Version getUsedDatabaseVersion() {
+        return usedDatabaseVersion;
+    }
+
+    /**
+     * Returns the initialized reporters of the run. Their output can be read from any connection.
+     *
+     * @return the reporters
+     */
+    public List<Reporter> getReporters() {
+        return reporters;
+    }
+
+    /**
+     * Returns whether the run failed because of failing tests (see {@link TestRunner#failOnErrors(boolean)})
+     *
+     * @return true if tests failed
+     */
+    public boolean hasFailedTests() {
+        return testsFailed;
+    }
+
+    public long getDurationMillis() {
+        return durationMillis;
+    }
+
+    /**
+     * Returns whether nothing was run because the slice of this shard was empty, see {@link TestRunner#isSkipped()}
+     *
+     * @return true if the run was skipped
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+}
@@ -0,0 +1,353 @@
+package org.utplsql.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.LinkOption;
+import java.nio.file.Path;
+import java.nio.file.PathMatcher;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * Collects the files of a project tree as relative paths with "/" as separator for {@link FileMapperOptions}.
+ * <p>
+ * Directories are walked in parallel on a fork-join pool. Include and exclude globs are matched against the path
+ * relative to the root, excluded directories are not descended into. Symbolic links are not followed.
+ * <p>
+ * If an index file is set, the entries of every directory are stored together with its modification time.
+ * A directory whose modification time didn't change is not listed again on the next scan.
+ */
+public class SourceTreeScanner {
+
+    private static final Logger logger = LoggerFactory.getLogger(SourceTreeScanner.class);
+
+    private static final int INDEX_MAGIC = 0x55545349; // "UTSI"
+    private static final int INDEX_VERSION = 2;
+
+    private final Path root;
+    private final List<PathMatcher> includes = new ArrayList<>();
+    private final List<PathMatcher> excludes = new ArrayList<>();
+    private final Set<String> extensions = new HashSet<>();
+    private Path indexFile;
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    public SourceTreeScanner(Path root) {
+        this.root = root;
+    }
+
+    /**
+     * Only files matching at least one include glob are returned. Without include globs all files are returned.
+     *
+     * @param glob glob pattern relative to the root, e.g. "source/**"
+     * @return this scanner
+     */
+    public SourceTreeScanner include(String glob) {
+        includes.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+        return this;
+    }
+
+    /**
+     * Files and directories matching an exclude glob are skipped.
+     *
+     * @param glob glob pattern relative to the root, e.g. "target/**"
+     * @return this scanner
+     */
+    public SourceTreeScanner exclude(String glob) {
+        excludes.add(FileSystems.getDefault().getPathMatcher("glob:" + glob));
+        return this;
+    }
+
+    /**
+     * Only files with one of the given extensions are returned. The comparison ignores case.
+     *
+     * @param fileExtensions extensions without dot, e.g. "pks", "pkb"
+     * @return this scanner
+     */
+    public SourceTreeScanner extensions(String... fileExtensions) {
+        for (String extension : fileExtensions) {
+            extensions.add(extension.toLowerCase(Locale.ROOT));
+        }
+        return this;
+    }
+
+    /**
+     * Stores the directory listings in the given file and reuses them for unchanged directories.
+     *
+     * @param indexFile the index file or null to always list all directories
+     * @return this scanner
+     */
+    public SourceTreeScanner indexFile(@Nullable Path indexFile) {
+        this.indexFile = indexFile;
+        return this;
+    }
+
+    public SourceTreeScanner parallelism(int parallelism) {
+        if (parallelism < 1) {
+            throw new IllegalArgumentException("parallelism must be at least 1 but was " + parallelism);
+        }
+        this.parallelism = parallelism;
+        return this;
+    }
+
+    /**
+     * Scans the tree.
+     *
+     * @return the matching files relative to the root, sorted
+     * @throws IOException if a directory can't be read
+     */
+    public List<String> scan() throws IOException {
+        Map<String, DirectoryEntry> previousIndex = (indexFile != null) ? readIndex(indexFile, root) : Collections.emptyMap();
+        Map<String, DirectoryEntry> newIndex = new ConcurrentHashMap<>();
+
+        List<String> result;
+        ForkJoinPool pool = new ForkJoinPool(parallelism);
+        try {
+            result = pool.invoke(new ScanTask(root, previousIndex, newIndex));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            pool.shutdown();
+        }
+
+        if (indexFile != null) {
+            writeIndex(indexFile, root, newIndex);
+        }
+
+        Collections.sort(result);
+        logger.debug("Scanned {} directories below {}, {} files matched", newIndex.size(), root, result.size());
+        return result;
+    }
+
+    /**
+     * Scans the tree and puts the result into new FileMapperOptions.
+     *
+     * @return FileMapperOptions with the matching files
+     * @throws IOException if a directory can't be read
+     */
+    public FileMapperOptions toFileMapperOptions() throws IOException {
+        return new FileMapperOptions(scan());
+    }
+
+    private boolean isExcluded(Path relativePath) {
+        for (PathMatcher matcher : excludes) {
+            if (matcher.matches(relativePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isIncluded(Path relativePath) {
+        if (!extensions.isEmpty()) {
+            String fileName = relativePath.getFileName().toString();
+            int dotPos = fileName.lastIndexOf('.');
+            if (dotPos < 0 || !extensions.contains(fileName.substring(dotPos + 1).toLowerCase(Locale.ROOT))) {
+                return false;
+            }
+        }
+        if (includes.isEmpty()) {
+            return true;
+        }
+        for (PathMatcher matcher : includes) {
+            if (matcher.matches(relativePath)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Lists one directory and forks a task for every subdirectory.
+     */
+    private class ScanTask extends RecursiveTask<List<String>> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Path directory;
+        private final Map<String, DirectoryEntry> previousIndex;
+        private final Map<String, DirectoryEntry> newIndex;
+
+        ScanTask(Path directory, Map<String, DirectoryEntry> previousIndex, Map<String, DirectoryEntry> newIndex) {
+            this.directory = directory;
+            this.previousIndex = previousIndex;
+            this.newIndex = newIndex;
+        }
+
+        @Override
+        protected List<String> compute() {
+            try {
+                String key = toSlashSeparated(root.relativize(directory));
+                long modified = Files.getLastModifiedTime(directory, LinkOption.NOFOLLOW_LINKS).toMillis();
+
+                DirectoryEntry entry = previousIndex.get(key);
+                if (entry == null || entry.modified != modified) {
+                    entry = listDirectory(modified);
+                }
+                newIndex.put(key, entry);
+
+                List<String> result = new ArrayList<>();
+                for (String file : entry.files) {
+                    Path relativePath = root.relativize(directory.resolve(file));
+                    if (!isExcluded(relativePath) && isIncluded(relativePath)) {
+                        result.add(toSlashSeparated(relativePath));
+                    }
+                }
+
+                List<ScanTask> subTasks = new ArrayList<>();
+                for (String subDirectory : entry.directories) {
+                    Path path = directory.resolve(subDirectory);
+                    if (!isExcluded(root.relativize(path))) {
+                        ScanTask task = new ScanTask(path, previousIndex, newIndex);
+                        task.fork();
+                        subTasks.add(task);
+                    }
+                }
+                for (ScanTask task : subTasks) {
+                    result.addAll(task.join());
+                }
+                return result;
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+
+        private DirectoryEntry listDirectory(long modified) throws IOException {
+            List<String> files = new ArrayList<>();
+            List<String> directories = new ArrayList<>();
+            try (DirectoryStream<Path> stream = Files.newDirectoryStream(directory)) {
+                for (Path path : stream) {
+                    BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class, LinkOption.NOFOLLOW_LINKS);
+                    if (attributes.isDirectory()) {
+                        directories.add(path.getFileName().toString());
+                    } else if (attributes.isRegularFile()) {
+                        files.add(path.getFileName().toString());
+                    }
+                }
+            }
+            return new DirectoryEntry(modified, files, directories);
+        }
+    }
+
+    /**
+     * Joins the path elements with "/" regardless of the platform, so paths and index keys look the same everywhere.
+     */
+    private static String toSlashSeparated(Path path) {
+        StringBuilder result = new StringBuilder();
+        for (Path element : path) {
+            if (result.length() > 0) {
+                result.append('/');
+            }
+            result.append(element.toString());
+        }
+        return result.toString();
+    }
+
+    private static class DirectoryEntry {
+        private final long modified;
+        private final List<String> files;
+        private final List<String> directories;
+
+        DirectoryEntry(long modified, List<String> files, List<String> directories) {
+            this.modified = modified;
+            this.files = files;
+            this.directories = directories;
+        }
+    }
+
+    private static Map<String, DirectoryEntry> readIndex(Path indexFile, Path root) {
+        if (!Files.isRegularFile(indexFile)) {
+            return Collections.emptyMap();
+        }
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(indexFile)))) {
+            if (in.readInt() != INDEX_MAGIC || in.readInt() != INDEX_VERSION) {
+                logger.debug("Ignoring source tree index {} with unknown format", indexFile);
+                return Collections.emptyMap();
+            }
+            if (!in.readUTF().equals(root.toAbsolutePath().toString())) {
+                logger.debug("Ignoring source tree index {} of another root", indexFile);
+                return Collections.emptyMap();
+            }
+
+            int count = in.readInt();
+            Map<String, DirectoryEntry> index = new HashMap<>(count * 2);
+            for (int i = 0; i < count; i++) {
+                String key = in.readUTF();
+                long modified = in.readLong();
+                List<String> files = readNames(in);
+                List<String> directories = readNames(in);
+                index.put(key, new DirectoryEntry(modified, files, directories));
+            }
+            return index;
+        } catch (EOFException e) {
+            logger.debug("Ignoring truncated source tree index {}", indexFile);
+            return Collections.emptyMap();
+        } catch (IOException e) {
+            logger.debug("Ignoring unreadable source tree index " + indexFile, e);
+            return Collections.emptyMap();
+        }
+    }
+
+    private static List<String> readNames(DataInputStream in) throws IOException {
+        int count = in.readInt();
+        List<String> names = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            names.add(in.readUTF());
+        }
+        return names;
+    }
+
+    private static void writeIndex(Path indexFile, Path root, Map<String, DirectoryEntry> index) {
+        Path tempFile = indexFile.resolveSibling(indexFile.getFileName() + ".tmp");
+        try {
+            if (indexFile.getParent() != null) {
+                Files.createDirectories(indexFile.getParent());
+            }
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeInt(INDEX_VERSION);
+                out.writeUTF(root.toAbsolutePath().toString());
+                out.writeInt(index.size());
+                for (Map.Entry<String, DirectoryEntry> entry : index.entrySet()) {
+                    out.writeUTF(entry.getKey());
+                    out.writeLong(entry.getValue().modified);
+                    writeNames(out, entry.getValue().files);
+                    writeNames(out, entry.getValue().directories);
+                }
+            }
+            Files.move(tempFile, indexFile, StandardCopyOption.REPLACE_EXISTING);
+        } catch (IOException e) {
+            logger.warn("Could not write source tree index " + indexFile, e);
+        }
+    }
+
+    private static void writeNames(DataOutputStream out, List<String> names) throws IOException {
+        out.writeInt(names.size());
+        for (String name : names) {
+            out.writeUTF(name);
+        }
+    }
+}
@@ -0,0 +1,331 @@
+package org.utplsql.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.compatibility.CompatibilityProxy;
+import org.utplsql.api.testRunner.SuiteDiscovery;
+import org.utplsql.api.testRunner.SuiteDurationHistory;
+
+import javax.annotation.Nullable;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Hands out suite paths to {@link SuiteQueueWorker}s over TCP, one suite at a time, so workers which finish early
+ * simply take the next suite and every database session stays busy until the queue is empty.
+ * <p>
+ * If a duration history is set, the longest suites are handed out first. Suites of workers which disconnect
+ * before sending their result are put back into the queue, until they were handed out {@link #maxAttempts(int)}
+ * times. After that the suite is recorded as failed, so a suite which breaks every session can't stall the run.
+ * The protocol has no authentication, so the coordinator should only listen on trusted networks.
+ */
+public class SuiteQueueCoordinator implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteQueueCoordinator.class);
+
+    static final int DEFAULT_MAX_ATTEMPTS = 3;
+
+    private final List<String> suites;
+    private final Deque<String> pending = new ArrayDeque<>();
+    private final Set<String> inFlight = new HashSet<>();
+    private final Map<String, SuiteQueueProtocol.SuiteResult> results = new HashMap<>();
+    private final Map<String, Integer> attempts = new HashMap<>();
+    private final List<Socket> workerSockets = new ArrayList<>();
+    private SuiteDurationHistory history;
+    private int maxAttempts = DEFAULT_MAX_ATTEMPTS;
+    private ServerSocket serverSocket;
+    private boolean closed = false;
+
+    public SuiteQueueCoordinator(List<String> suites) {
+        this.suites = new ArrayList<>(new LinkedHashSet<>(suites));
+    }
+
+    /**
+     * Expands the given paths into the suite packages of the schemas, see {@link SuiteDiscovery}.
+     *
+     * @param conn  the connection
+     * @param paths the run paths
+     * @return the suites
+     * @throws SQLException any database error
+     */
+    public static List<String> discoverSuites(Connection conn, List<String> paths) throws SQLException {
+        return SuiteDiscovery.discover(conn, paths, new CompatibilityProxy(conn).getUtPlsqlVersion());
+    }
+
+    /**
+     * Hands out the longest suites first and records the duration of every suite in the given file.
+     *
+     * @param historyFile the history file
+     * @return this coordinator
+     */
+    public SuiteQueueCoordinator durationHistory(Path historyFile) {
+        this.history = SuiteDurationHistory.load(historyFile);
+        return this;
+    }
+
+    /**
+     * Sets how often a suite is handed out before it is recorded as failed when its workers get lost.
+     * Defaults to {@value #DEFAULT_MAX_ATTEMPTS}.
+     *
+     * @param maxAttempts the maximum number of attempts per suite, at least 1
+     * @return this coordinator
+     */
+    public SuiteQueueCoordinator maxAttempts(int maxAttempts) {
+        if (maxAttempts < 1) {
+            throw new IllegalArgumentException("maxAttempts must be at least 1");
+        }
+        this.maxAttempts = maxAttempts;
+        return this;
+    }
+
+    /**
+     * Starts listening for workers on the loopback interface.
+     *
+     * @param port the port or 0 for any free port
+     * @return this coordinator
+     * @throws IOException if the port can't be bound
+     */
+    public SuiteQueueCoordinator start(int port) throws IOException {
+        return start(new InetSocketAddress(InetAddress.getLoopbackAddress(), port));
+    }
+
+    /**
+     * Starts listening for workers on the given address.
+     *
+     * @param bindAddress the address to listen on
+     * @return this coordinator
+     * @throws IOException if the address can't be bound
+     */
+    public synchronized SuiteQueueCoordinator start(InetSocketAddress bindAddress) throws IOException {
+        if (serverSocket != null) {
+            throw new IllegalStateException("Coordinator is already started");
+        }
+
+        List<String> queue = new ArrayList<>(suites);
+        if (history != null) {
+            SuiteDurationHistory durations = history;
+            queue.sort(Comparator.comparingLong(durations::estimate).reversed());
+        }
+        pending.addAll(queue);
+
+        serverSocket = new ServerSocket();
+        serverSocket.bind(bindAddress);
+        startDaemon(this::acceptWorkers, "utPLSQL-suite-coordinator");
+        logger.info("Coordinating {} suites on {}", suites.size(), serverSocket.getLocalSocketAddress());
+        return this;
+    }
+
+    public int getPort() {
+        return serverSocket.getLocalPort();
+    }
+
+    private static void startDaemon(Runnable runnable, String name) {
+        Thread thread = new Thread(runnable, name);
+        thread.setDaemon(true);
+        thread.start();
+    }
+
+    private void acceptWorkers() {
+        while (true) {
+            Socket socket;
+            try {
+                socket = serverSocket.accept();
+            } catch (IOException e) {
+                if (!isClosed()) {
+                    logger.warn("Stopped accepting workers", e);
+                }
+                return;
+            }
+            synchronized (this) {
+                workerSockets.add(socket);
+            }
+            startDaemon(() -> serveWorker(socket), "utPLSQL-suite-coordinator-" + socket.getRemoteSocketAddress());
+        }
+    }
+
+    private void serveWorker(Socket socket) {
+        String currentSuite = null;
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+            while (true) {
+                SuiteQueueProtocol.Frame frame = SuiteQueueProtocol.readFrame(in);
+                if (frame.type == SuiteQueueProtocol.RESULT) {
+                    SuiteQueueProtocol.SuiteResult result = SuiteQueueProtocol.decodeResult(frame.payload);
+                    completeSuite(result);
+                    currentSuite = null;
+                } else if (frame.type == SuiteQueueProtocol.REQUEST) {
+                    currentSuite = nextSuite();
+                    if (currentSuite == null) {
+                        SuiteQueueProtocol.writeFrame(out, SuiteQueueProtocol.DONE, new byte[0]);
+                        return;
+                    }
+                    SuiteQueueProtocol.writeFrame(out, SuiteQueueProtocol.SUITE, SuiteQueueProtocol.encodeString(currentSuite));
+                } else {
+                    throw new IOException("Unexpected frame type " + frame.type);
+                }
+            }
+        } catch (IOException e) {
+            if (!isClosed()) {
+                logger.warn("Lost worker " + socket.getRemoteSocketAddress(), e);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } finally {
+            if (currentSuite != null) {
+                requeue(currentSuite);
+            }
+            try {
+                socket.close();
+            } catch (IOException ignored) {
+                // Nothing left to do
+            }
+        }
+    }
+
+    /**
+     * Returns the next suite, waiting while other workers might still give suites back.
+     */
+    @Nullable
+    private synchronized String nextSuite() throws InterruptedException {
+        while (pending.isEmpty() && !inFlight.isEmpty() && !closed) {
+            wait();
+        }
+        String suite = closed ? null : pending.pollFirst();
+        if (suite != null) {
+            inFlight.add(suite);
+            attempts.merge(suite, 1, Integer::sum);
+        }
+        return suite;
+    }
+
+    private synchronized void completeSuite(SuiteQueueProtocol.SuiteResult result) {
+        if (!inFlight.remove(result.path)) {
+            logger.warn("Ignoring unexpected result for suite {}", result.path);
+            return;
+        }
+        results.put(result.path, result);
+        if (history != null && result.error == null) {
+            history.record(result.path, result.durationMillis);
+        }
+        logger.debug("Suite {} finished, {} of {} done", result.path, results.size(), suites.size());
+        notifyAll();
+    }
+
+    private synchronized void requeue(String suite) {
+        if (!inFlight.remove(suite)) {
+            return;
+        }
+        int suiteAttempts = attempts.get(suite);
+        if (suiteAttempts >= maxAttempts) {
+            logger.warn("Suite {} lost its worker {} times and is not run again", suite, suiteAttempts);
+            results.put(suite, new SuiteQueueProtocol.SuiteResult(suite, false, 0,
+                    "Worker was lost " + suiteAttempts + " times while running the suite", new LinkedHashMap<>()));
+        } else {
+            logger.warn("Suite {} is put back into the queue", suite);
+            pending.addFirst(suite);
+        }
+        notifyAll();
+    }
+
+    private synchronized boolean isClosed() {
+        return closed;
+    }
+
+    /**
+     * Waits until all suites are finished and merges their results in the order of the suites.
+     *
+     * @param timeout maximum time to wait
+     * @param unit    unit of the timeout
+     * @return the merged result
+     * @throws SQLException         if suites failed with other errors than failing tests
+     * @throws TimeoutException     if not all suites finished in time
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public synchronized ParallelRunResult awaitCompletion(long timeout, TimeUnit unit)
+            throws SQLException, TimeoutException, InterruptedException {
+        long deadline = System.nanoTime() + unit.toNanos(timeout);
+        while (results.size() < suites.size()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                throw new TimeoutException((suites.size() - results.size()) + " suites did not finish in time");
+            }
+            TimeUnit.NANOSECONDS.timedWait(this, remaining);
+        }
+
+        saveHistory();
+
+        Map<String, List<String>> mergedOutputs = new LinkedHashMap<>();
+        boolean testsFailed = false;
+        SQLException firstException = null;
+        for (String suite : suites) {
+            SuiteQueueProtocol.SuiteResult result = results.get(suite);
+            if (result.error != null) {
+                SQLException suiteException = new SQLException("Suite " + suite + " failed: " + result.error);
+                if (firstException == null) {
+                    firstException = suiteException;
+                } else {
+                    firstException.addSuppressed(suiteException);
+                }
+                continue;
+            }
+            testsFailed |= result.testsFailed;
+            result.outputs.forEach((reporterName, lines) ->
+                    mergedOutputs.computeIfAbsent(reporterName, k -> new ArrayList<>()).addAll(lines));
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+        return new ParallelRunResult(mergedOutputs, testsFailed);
+    }
+
+    private void saveHistory() {
+        if (history == null) {
+            return;
+        }
+        try {
+            history.save();
+        } catch (IOException e) {
+            logger.warn("Could not save suite duration history", e);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        List<Socket> sockets;
+        synchronized (this) {
+            closed = true;
+            notifyAll();
+            sockets = new ArrayList<>(workerSockets);
+        }
+        if (serverSocket != null) {
+            serverSocket.close();
+        }
+        for (Socket socket : sockets) {
+            socket.close();
+        }
+    }
+}
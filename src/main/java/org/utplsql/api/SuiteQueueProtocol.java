@@ -0,0 +1,169 @@
+package org.utplsql.api;
+
+import javax.annotation.Nullable;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Messages exchanged between {@link SuiteQueueCoordinator} and {@link SuiteQueueWorker}.
+ * Every frame is a type byte, the payload length as int and the payload. Strings are UTF-8 with an int length prefix,
+ * -1 marks null.
+ */
+final class SuiteQueueProtocol {
+
+    static final byte REQUEST = 1;
+    static final byte SUITE = 2;
+    static final byte DONE = 3;
+    static final byte RESULT = 4;
+
+    static final int MAX_FRAME_SIZE = 16 * 1024 * 1024;
+
+    private SuiteQueueProtocol() {
+    }
+
+    static final class Frame {
+        final byte type;
+        final byte[] payload;
+
+        Frame(byte type, byte[] payload) {
+            this.type = type;
+            this.payload = payload;
+        }
+    }
+
+    /**
+     * Result of a single suite run by a worker.
+     */
+    static final class SuiteResult {
+        final String path;
+        final boolean testsFailed;
+        final long durationMillis;
+        final String error;
+        final Map<String, List<String>> outputs;
+
+        SuiteResult(String path, boolean testsFailed, long durationMillis, @Nullable String error, Map<String, List<String>> outputs) {
+            this.path = path;
+            this.testsFailed = testsFailed;
+            this.durationMillis = durationMillis;
+            this.error = error;
+            this.outputs = outputs;
+        }
+    }
+
+    static void writeFrame(DataOutputStream out, byte type, byte[] payload) throws IOException {
+        if (payload.length > MAX_FRAME_SIZE) {
+            throw new IOException("Frame of " + payload.length + " bytes exceeds the limit of " + MAX_FRAME_SIZE + " bytes");
+        }
+        out.writeByte(type);
+        out.writeInt(payload.length);
+        out.write(payload);
+        out.flush();
+    }
+
+    static Frame readFrame(DataInputStream in) throws IOException {
+        byte type = in.readByte();
+        int length = in.readInt();
+        if (length < 0 || length > MAX_FRAME_SIZE) {
+            throw new IOException("Invalid frame length " + length);
+        }
+        byte[] payload = new byte[length];
+        in.readFully(payload);
+        return new Frame(type, payload);
+    }
+
+    static byte[] encodeString(String value) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, value);
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static String decodeString(byte[] payload) throws IOException {
+        return readString(new DataInputStream(new ByteArrayInputStream(payload)));
+    }
+
+    static byte[] encodeResult(SuiteResult result) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeString(out, result.path);
+        out.writeBoolean(result.testsFailed);
+        out.writeLong(result.durationMillis);
+        writeString(out, result.error);
+        out.writeInt(result.outputs.size());
+        for (Map.Entry<String, List<String>> entry : result.outputs.entrySet()) {
+            writeString(out, entry.getKey());
+            out.writeInt(entry.getValue().size());
+            for (String line : entry.getValue()) {
+                writeString(out, line);
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static SuiteResult decodeResult(byte[] payload) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(payload));
+        String path = readString(in);
+        boolean testsFailed = in.readBoolean();
+        long durationMillis = in.readLong();
+        String error = readString(in);
+        // A reporter needs at least its name and line count, a line at least its length
+        int reporterCount = readCount(in, 8);
+        Map<String, List<String>> outputs = new LinkedHashMap<>();
+        for (int i = 0; i < reporterCount; i++) {
+            String reporterName = readString(in);
+            int lineCount = readCount(in, 4);
+            List<String> lines = new ArrayList<>(lineCount);
+            for (int j = 0; j < lineCount; j++) {
+                lines.add(readString(in));
+            }
+            outputs.put(reporterName, lines);
+        }
+        return new SuiteResult(path, testsFailed, durationMillis, error, outputs);
+    }
+
+    /**
+     * Reads an element count and checks that the remaining payload can hold that many elements.
+     */
+    private static int readCount(DataInputStream in, int minBytesPerElement) throws IOException {
+        int count = in.readInt();
+        if (count < 0 || count > in.available() / minBytesPerElement) {
+            throw new EOFException("Element count " + count + " exceeds frame");
+        }
+        return count;
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(DataInputStream in) throws IOException {
+        int length = in.readInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > in.available()) {
+            throw new EOFException("String length " + length + " exceeds frame");
+        }
+        byte[] bytes = new byte[length];
+        in.readFully(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,162 @@
+package org.utplsql.api;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.db.ConnectionSupplier;
+import org.utplsql.api.exception.SomeTestsFailedException;
+import org.utplsql.api.reporter.Reporter;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.Socket;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Pulls suites from a {@link SuiteQueueCoordinator} one at a time and runs each with its own {@link TestRunner}
+ * on a single database session, until the queue is empty. The reporter output is sent back to the coordinator.
+ * <p>
+ * If a suite fails with an error and the session is no longer valid afterwards, the worker stops without
+ * reporting the suite, so the coordinator gives it to another worker.
+ * If the output of a suite is too large to be sent back, the suite is reported as failed instead.
+ */
+public class SuiteQueueWorker {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteQueueWorker.class);
+
+    private static final int CONNECTION_VALID_TIMEOUT_SECONDS = 5;
+
+    /**
+     * Runs a single suite, replaceable for tests.
+     */
+    interface SuiteRunner {
+        SuiteQueueProtocol.SuiteResult run(Connection conn, String path) throws SQLException;
+    }
+
+    private final InetSocketAddress coordinatorAddress;
+    private final ConnectionSupplier connectionSupplier;
+    private final List<String> reporterNames = new ArrayList<>();
+    private Consumer<TestRunner> testRunnerConfigurer = testRunner -> { };
+    private final SuiteRunner suiteRunner;
+
+    public SuiteQueueWorker(InetSocketAddress coordinatorAddress, ConnectionSupplier connectionSupplier) {
+        this.coordinatorAddress = Objects.requireNonNull(coordinatorAddress);
+        this.connectionSupplier = Objects.requireNonNull(connectionSupplier);
+        this.suiteRunner = this::runSuite;
+    }
+
+    SuiteQueueWorker(InetSocketAddress coordinatorAddress, ConnectionSupplier connectionSupplier, SuiteRunner suiteRunner) {
+        this.coordinatorAddress = Objects.requireNonNull(coordinatorAddress);
+        this.connectionSupplier = Objects.requireNonNull(connectionSupplier);
+        this.suiteRunner = Objects.requireNonNull(suiteRunner);
+    }
+
+    public SuiteQueueWorker addReporter(String reporterName) {
+        reporterNames.add(reporterName);
+        return this;
+    }
+
+    /**
+     * Sets a callback which is applied to the TestRunner of every suite, e.g. to set coverage schemes, tags or failOnErrors.
+     * Paths and reporters should not be added here.
+     *
+     * @param testRunnerConfigurer callback to configure the TestRunner of each suite
+     * @return this worker
+     */
+    public SuiteQueueWorker configureTestRunner(Consumer<TestRunner> testRunnerConfigurer) {
+        this.testRunnerConfigurer = Objects.requireNonNull(testRunnerConfigurer);
+        return this;
+    }
+
+    /**
+     * Connects to the coordinator and runs suites until the queue is empty.
+     *
+     * @return the number of suites run by this worker
+     * @throws SQLException if the database session broke
+     * @throws IOException  if the connection to the coordinator broke
+     */
+    public int run() throws SQLException, IOException {
+        int suiteCount = 0;
+        try (Connection conn = connectionSupplier.getConnection();
+             Socket socket = new Socket(coordinatorAddress.getAddress(), coordinatorAddress.getPort());
+             DataInputStream in = new DataInputStream(new BufferedInputStream(socket.getInputStream()));
+             DataOutputStream out = new DataOutputStream(new BufferedOutputStream(socket.getOutputStream()))) {
+
+            while (true) {
+                SuiteQueueProtocol.writeFrame(out, SuiteQueueProtocol.REQUEST, new byte[0]);
+                SuiteQueueProtocol.Frame frame = SuiteQueueProtocol.readFrame(in);
+                if (frame.type == SuiteQueueProtocol.DONE) {
+                    logger.info("Suite queue is empty, worker ran {} suites", suiteCount);
+                    return suiteCount;
+                }
+                if (frame.type != SuiteQueueProtocol.SUITE) {
+                    throw new IOException("Unexpected frame type " + frame.type);
+                }
+
+                String path = SuiteQueueProtocol.decodeString(frame.payload);
+                SuiteQueueProtocol.SuiteResult result;
+                try {
+                    result = suiteRunner.run(conn, path);
+                } catch (SQLException e) {
+                    if (!conn.isValid(CONNECTION_VALID_TIMEOUT_SECONDS)) {
+                        throw e;
+                    }
+                    logger.warn("Suite " + path + " failed", e);
+                    result = new SuiteQueueProtocol.SuiteResult(path, false, 0, e.getMessage(), new LinkedHashMap<>());
+                }
+                SuiteQueueProtocol.writeFrame(out, SuiteQueueProtocol.RESULT, encodeResult(result));
+                suiteCount++;
+            }
+        }
+    }
+
+    /**
+     * Encodes the result, replacing it by an error result if it exceeds the frame size.
+     */
+    private static byte[] encodeResult(SuiteQueueProtocol.SuiteResult result) throws IOException {
+        byte[] payload = SuiteQueueProtocol.encodeResult(result);
+        if (payload.length <= SuiteQueueProtocol.MAX_FRAME_SIZE) {
+            return payload;
+        }
+        String error = "Output of " + payload.length + " bytes exceeds the limit of "
+                + SuiteQueueProtocol.MAX_FRAME_SIZE + " bytes";
+        logger.warn("Suite {} failed: {}", result.path, error);
+        return SuiteQueueProtocol.encodeResult(new SuiteQueueProtocol.SuiteResult(
+                result.path, result.testsFailed, result.durationMillis, error, new LinkedHashMap<>()));
+    }
+
+    private SuiteQueueProtocol.SuiteResult runSuite(Connection conn, String path) throws SQLException {
+        TestRunner testRunner = new TestRunner().addPath(path);
+        testRunnerConfigurer.accept(testRunner);
+        reporterNames.forEach(testRunner::addReporter);
+
+        boolean testsFailed = false;
+        long start = System.nanoTime();
+        try {
+            testRunner.run(conn);
+        } catch (SomeTestsFailedException e) {
+            testsFailed = true;
+        }
+        long durationMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+        Map<String, List<String>> outputs = new LinkedHashMap<>();
+        for (Reporter reporter : testRunner.getOptions().reporterList) {
+            outputs.computeIfAbsent(reporter.getTypeName(), k -> new ArrayList<>())
+                    .addAll(reporter.getOutputBuffer().fetchAll(conn));
+        }
+
+        logger.debug("Suite {} finished in {} ms", path, durationMillis);
+        return new SuiteQueueProtocol.SuiteResult(path, testsFailed, durationMillis, null, outputs);
+    }
+}
@@ -3,22 +3,38 @@ package org.utplsql.api;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.utplsql.api.compatibility.CompatibilityProxy;
+import org.utplsql.api.db.CachedDatabaseInformation;
+import org.utplsql.api.db.ConnectionSupplier;
 import org.utplsql.api.db.DatabaseInformation;
-import org.utplsql.api.db.DefaultDatabaseInformation;
+import org.utplsql.api.db.SessionBootstrap;
 import org.utplsql.api.exception.OracleCreateStatmenetStuckException;
 import org.utplsql.api.exception.SomeTestsFailedException;
+import org.utplsql.api.exception.TestRunTimeoutException;
 import org.utplsql.api.exception.UtPLSQLNotInstalledException;
+import org.utplsql.api.outputBuffer.ReporterOutputDrainer;
+import org.utplsql.api.reporter.CoreReporters;
 import org.utplsql.api.reporter.DocumentationReporter;
 import org.utplsql.api.reporter.Reporter;
+import org.utplsql.api.reporter.ReporterBatchInitializer;
 import org.utplsql.api.reporter.ReporterFactory;
+import org.utplsql.api.reporter.realtime.RealtimeEventStream;
+import org.utplsql.api.testRunner.RealtimeSuiteDurations;
+import org.utplsql.api.testRunner.StatementWatchdog;
+import org.utplsql.api.testRunner.SuiteDiscovery;
+import org.utplsql.api.testRunner.SuiteDurationHistory;
+import org.utplsql.api.testRunner.SuitePartitioner;
 import org.utplsql.api.testRunner.TestRunnerStatement;
 
+import javax.annotation.Nullable;
+import java.io.IOException;
+import java.nio.file.Path;
 import java.sql.Connection;
 import java.sql.SQLException;
-import java.util.ArrayList;
-import java.util.Collection;
-import java.util.List;
+import java.util.*;
 import java.util.concurrent.*;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ObjLongConsumer;
 
 /**
  * Created by Vinicius Avellar on 12/04/2017.
@@ -29,11 +45,17 @@ import java.util.concurrent.*;
 public class TestRunner {
 
     private static final Logger logger = LoggerFactory.getLogger(TestRunner.class);
+    private static final int OUTPUT_DRAIN_TIMEOUT_ON_ERROR_SECONDS = 10;
 
     private final TestRunnerOptions options = new TestRunnerOptions();
     private final List<String> reporterNames = new ArrayList<>();
     private CompatibilityProxy compatibilityProxy;
     private ReporterFactory reporterFactory;
+    private ConnectionSupplier outputConnectionSupplier;
+    private Function<Reporter, Consumer<String>> outputSinkProvider;
+    private ObjLongConsumer<String> suiteDurationListener;
+    private volatile RunHandle currentRun;
+    private volatile boolean skipped;
 
     public TestRunner addPath(String path) {
         options.pathList.add(path);
@@ -109,6 +131,137 @@ public class TestRunner {
         return this;
     }
 
+    /**
+     * Stores the computed source and test file mappings in the given directory and reuses them in later runs
+     * as long as file paths and mapping options don't change.
+     *
+     * @param cacheDirectory directory for the cache files or null to disable caching
+     * @return this TestRunner
+     */
+    public TestRunner fileMappingCacheDirectory(Path cacheDirectory) {
+        options.fileMappingCacheDirectory = cacheDirectory;
+        return this;
+    }
+
+    /**
+     * Enables the implicit statement cache of the Oracle connection, so the runner call is parsed and prepared only once
+     * for runs with the same kind of parameters on a long-lived connection.
+     * Caching is only switched on if the connection doesn't use it already.
+     * <p>
+     * Note that this changes the given connection itself: implicit caching and the cache size stay set after the run,
+     * also for other users of the connection, e.g. when it is returned to a pool.
+     *
+     * @param cacheSize number of statements the connection caches, 0 leaves the connection untouched
+     * @return this TestRunner
+     */
+    public TestRunner statementCacheSize(int cacheSize) {
+        options.statementCacheSize = cacheSize;
+        return this;
+    }
+
+    /**
+     * Passes paths, coverage schemes and include/exclude object lists with at least threshold entries
+     * through the given global temporary table instead of binding them as collections.
+     * The table has to exist in the schema of the session:
+     * <pre>
+     * create global temporary table ut_client_list (
+     *   list_name varchar2(128), seq number, item varchar2(4000)
+     * ) on commit preserve rows;
+     * </pre>
+     *
+     * @param tableName name of the temporary table or null to always bind collections
+     * @param threshold minimum number of entries of a list to use the table, must be positive
+     * @return this TestRunner
+     */
+    public TestRunner listTable(String tableName, int threshold) {
+        if (threshold <= 0) {
+            throw new IllegalArgumentException("List table threshold must be positive, but was " + threshold);
+        }
+        options.listTableName = tableName;
+        options.listTableThreshold = threshold;
+        return this;
+    }
+
+    /**
+     * Sets how long the creation of the runner statement may take before the driver is considered stuck.
+     * Defaults to 2 seconds.
+     *
+     * @param timeout the timeout
+     * @param unit    unit of the timeout
+     * @return this TestRunner
+     */
+    public TestRunner statementPrepareTimeout(long timeout, TimeUnit unit) {
+        options.statementPrepareTimeoutMillis = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Cancels the test run if it takes longer than the given time. A cancelled run throws TestRunTimeoutException.
+     *
+     * @param timeout the timeout, 0 to wait without limit
+     * @param unit    unit of the timeout
+     * @return this TestRunner
+     */
+    public TestRunner executionTimeout(long timeout, TimeUnit unit) {
+        options.executionTimeoutMillis = unit.toMillis(timeout);
+        return this;
+    }
+
+    /**
+     * Only runs one of count disjoint slices of the suites, so several clients can split a run without coordination.
+     * Schema paths (or the current schema if no path is given) are expanded to their suite packages
+     * on utPLSQL 3.1.3 and newer, the resulting paths are assigned to the slices by a stable hash.
+     * If the slice is empty, the run does nothing and {@link #isSkipped()} returns true. Reporters are not initialized
+     * in that case, so their output must not be read.
+     *
+     * @param index index of the slice to run, starting with 0
+     * @param count number of slices
+     * @return this TestRunner
+     */
+    public TestRunner shard(int index, int count) {
+        if (count < 1 || index < 0 || index >= count) {
+            throw new IllegalArgumentException("Invalid shard " + index + " of " + count);
+        }
+        options.shardIndex = index;
+        options.shardCount = count;
+        return this;
+    }
+
+    /**
+     * Balances the slices of {@link #shard(int, int)} by the durations recorded in the given history file
+     * instead of hashing. The file is only read, so all clients compute the same slices from the same history
+     * while running. Use {@link #shardDurationOutput(Path)} to measure the durations for the next runs.
+     *
+     * @param historyFile the history file or null to assign by hash
+     * @return this TestRunner
+     */
+    public TestRunner shardDurationHistory(Path historyFile) {
+        options.shardDurationHistory = historyFile;
+        return this;
+    }
+
+    /**
+     * Writes the measured durations of the suites of this slice to the given file after the run, replacing its content.
+     * Every client needs its own file. After all clients finished, the files can be merged into the history
+     * with {@link SuiteDurationHistory#merge(SuiteDurationHistory)}.
+     *
+     * @param outputFile the file for the durations of this slice or null to measure nothing
+     * @return this TestRunner
+     */
+    public TestRunner shardDurationOutput(Path outputFile) {
+        options.shardDurationOutput = outputFile;
+        return this;
+    }
+
+    /**
+     * Returns whether the last run did nothing because the slice of this shard was empty.
+     *
+     * @return true if the last run was skipped
+     */
+    public boolean isSkipped() {
+        return skipped;
+    }
+
     public TestRunner failOnErrors(boolean failOnErrors) {
         options.failOnErrors = failOnErrors;
         return this;
@@ -145,6 +298,46 @@ public class TestRunner {
         return this;
     }
 
+    /**
+     * Reads the output of the reporters while the tests are running instead of afterwards.
+     * Every reporter for which the sinkProvider returns a consumer is drained on a connection from the given supplier.
+     *
+     * @param connectionSupplier supplies the connections used to read the reporter output
+     * @param sinkProvider       returns the consumer for the lines of a reporter or null if the reporter should not be drained
+     * @return this TestRunner
+     */
+    public TestRunner drainOutput(ConnectionSupplier connectionSupplier, Function<Reporter, Consumer<String>> sinkProvider) {
+        this.outputConnectionSupplier = connectionSupplier;
+        this.outputSinkProvider = sinkProvider;
+        return this;
+    }
+
+    /**
+     * Measures the execution time of the suite paths of the run with an additional ut_realtime_reporter
+     * and passes it to the listener after the run, see {@link RealtimeSuiteDurations} for the paths which can be measured.
+     * Nothing is measured on frameworks older than 3.1.4 or if the run failed with an error.
+     *
+     * @param listener called with path and duration in milliseconds, null to measure nothing
+     * @return this TestRunner
+     */
+    public TestRunner suiteDurationListener(ObjLongConsumer<String> listener) {
+        this.suiteDurationListener = listener;
+        return this;
+    }
+
+    /**
+     * Sets how long to wait for the remaining reporter output of {@link #drainOutput(ConnectionSupplier, Function)}
+     * after the tests finished. Defaults to 5 minutes. Drains still running afterwards are aborted.
+     *
+     * @param timeout the timeout
+     * @param unit    unit of the timeout
+     * @return this TestRunner
+     */
+    public TestRunner outputDrainTimeout(long timeout, TimeUnit unit) {
+        options.outputDrainTimeoutMillis = unit.toMillis(timeout);
+        return this;
+    }
+
     public TestRunnerOptions getOptions() { return options; }
 
     private void delayedAddReporters() {
@@ -160,6 +353,7 @@ public class TestRunner {
         if ( e instanceof UtPLSQLNotInstalledException ) throw (UtPLSQLNotInstalledException)e;
         else if ( e instanceof SomeTestsFailedException ) throw (SomeTestsFailedException)e;
         else if ( e instanceof OracleCreateStatmenetStuckException ) throw (OracleCreateStatmenetStuckException)e;
+        else if ( e instanceof TestRunTimeoutException ) throw (TestRunTimeoutException)e;
         // Categorize exceptions
         else if (e instanceof SQLException) {
             SQLException sqlException = (SQLException) e;
@@ -176,16 +370,35 @@ public class TestRunner {
     }
 
     public void run(Connection conn) throws SQLException {
+        run(conn, new RunHandle());
+    }
+
+    private void run(Connection conn, RunHandle runHandle) throws SQLException {
+        currentRun = runHandle;
+        skipped = false;
+        List<String> originalPaths = new ArrayList<>(options.pathList);
+        try {
+            runWithHandle(conn, runHandle);
+        } finally {
+            runHandle.statement = null;
+            currentRun = null;
+            if (options.shardCount > 1) {
+                // The slice only applies to this run
+                options.pathList.clear();
+                options.pathList.addAll(originalPaths);
+            }
+        }
+    }
+
+    private void runWithHandle(Connection conn, RunHandle runHandle) throws SQLException {
 
         logger.info("TestRunner initialized");
 
-        DatabaseInformation databaseInformation = new DefaultDatabaseInformation();
+        DatabaseInformation databaseInformation = CachedDatabaseInformation.shared();
+        SessionBootstrap bootstrap = databaseInformation.getSessionBootstrap(conn, CompatibilityProxy.UTPLSQL_COMPATIBILITY_VERSION,
+                !options.skipCompatibilityCheck);
 
-        if ( options.skipCompatibilityCheck ) {
-            compatibilityProxy = new CompatibilityProxy(conn, Version.LATEST, databaseInformation);
-        } else {
-            compatibilityProxy = new CompatibilityProxy(conn, databaseInformation);
-        }
+        compatibilityProxy = new CompatibilityProxy(bootstrap, options.skipCompatibilityCheck ? Version.LATEST : null);
         logger.info("Running on utPLSQL {}", compatibilityProxy.getVersionDescription());
 
         if (reporterFactory == null) {
@@ -197,13 +410,31 @@ public class TestRunner {
         // First of all check version compatibility
         compatibilityProxy.failOnNotCompatible();
 
+        SuiteDurationHistory shardMeasurements = null;
+        if (options.shardCount > 1) {
+            SuiteDurationHistory shardHistory = (options.shardDurationHistory != null)
+                    ? SuiteDurationHistory.load(options.shardDurationHistory)
+                    : null;
+            if (!applyShard(conn, bootstrap.getCurrentSchema(), shardHistory)) {
+                skipped = true;
+                return;
+            }
+            shardMeasurements = (options.shardDurationOutput != null)
+                    ? SuiteDurationHistory.empty(options.shardDurationOutput)
+                    : null;
+        }
+
         logger.info("Initializing reporters");
+        List<Reporter> uninitializedReporters = new ArrayList<>();
         for (Reporter r : options.reporterList) {
-            validateReporter(conn, r);
+            if (needsInit(r)) {
+                uninitializedReporters.add(r);
+            }
         }
+        ReporterBatchInitializer.initialize(conn, uninitializedReporters, compatibilityProxy, reporterFactory);
 
         if (options.pathList.isEmpty()) {
-            options.pathList.add(databaseInformation.getCurrentSchema(conn));
+            options.pathList.add(bootstrap.getCurrentSchema());
         }
 
         if (options.reporterList.isEmpty()) {
@@ -211,11 +442,31 @@ public class TestRunner {
             options.reporterList.add(new DocumentationReporter().init(conn));
         }
 
+        ObjLongConsumer<String> durationListener = suiteDurationListener;
+        if (shardMeasurements != null) {
+            durationListener = (durationListener == null)
+                    ? shardMeasurements::record
+                    : andThen(durationListener, shardMeasurements::record);
+        }
+        Reporter durationReporter = (durationListener != null) ? addDurationReporter(conn) : null;
+
         TestRunnerStatement testRunnerStatement = null;
+        ReporterOutputDrainer outputDrainer = null;
         try {
             testRunnerStatement = initStatementWithTimeout(conn);
+            runHandle.statement = testRunnerStatement;
+            runHandle.throwIfCancelled(null);
+            outputDrainer = startOutputDrainer(durationReporter);
             logger.info("Running tests");
-            testRunnerStatement.execute();
+            try {
+                executeUnlessCancelled(testRunnerStatement, runHandle);
+            } catch (SQLException e) {
+                if (e.getErrorCode() == SomeTestsFailedException.ERROR_CODE) {
+                    recordSuiteDurations(conn, durationReporter, durationListener, shardMeasurements);
+                }
+                throw e;
+            }
+            recordSuiteDurations(conn, durationReporter, durationListener, shardMeasurements);
             logger.info("Running tests finished.");
             testRunnerStatement.close();
         } catch (OracleCreateStatmenetStuckException e) {
@@ -223,22 +474,236 @@ public class TestRunner {
             throw e;
         } catch (SQLException e) {
             if (testRunnerStatement != null) testRunnerStatement.close();
+            if (outputDrainer != null) finishOutputDrainer(outputDrainer, e);
             handleException(e);
+        } finally {
+            if (durationReporter != null) {
+                options.reporterList.remove(durationReporter);
+            }
+        }
+
+        if (outputDrainer != null) finishOutputDrainer(outputDrainer, null);
+    }
+
+    private static ObjLongConsumer<String> andThen(ObjLongConsumer<String> first, ObjLongConsumer<String> second) {
+        return (path, durationMillis) -> {
+            first.accept(path, durationMillis);
+            second.accept(path, durationMillis);
+        };
+    }
+
+    /**
+     * Adds a ut_realtime_reporter to measure the suite durations, which is removed again after the run.
+     *
+     * @return the reporter or null if the framework has no realtime reporter
+     */
+    @Nullable
+    private Reporter addDurationReporter(Connection conn) throws SQLException {
+        if (!CoreReporters.UT_REALTIME_REPORTER.isAvailableFor(compatibilityProxy.getUtPlsqlVersion())) {
+            logger.debug("Suite durations can't be measured on utPLSQL {}", compatibilityProxy.getVersionDescription());
+            return null;
+        }
+        Reporter reporter = reporterFactory.createReporter(CoreReporters.UT_REALTIME_REPORTER.name())
+                .init(conn, compatibilityProxy, reporterFactory);
+        options.reporterList.add(reporter);
+        return reporter;
+    }
+
+    /**
+     * Reads the suite durations from the realtime reporter. Errors are only logged, the run itself was fine.
+     */
+    private void recordSuiteDurations(Connection conn, @Nullable Reporter durationReporter,
+                                      @Nullable ObjLongConsumer<String> durationListener,
+                                      @Nullable SuiteDurationHistory shardMeasurements) {
+        if (durationReporter == null || durationListener == null) {
+            return;
+        }
+        try (RealtimeEventStream events = RealtimeEventStream.open(durationReporter.getOutputBuffer(), conn)) {
+            RealtimeSuiteDurations.collect(events, options.pathList).forEach(durationListener::accept);
+        } catch (SQLException e) {
+            logger.warn("Could not read suite durations", e);
+            return;
+        }
+        if (shardMeasurements != null) {
+            try {
+                shardMeasurements.save();
+            } catch (IOException e) {
+                logger.warn("Could not save suite durations of shard", e);
+            }
+        }
+    }
+
+    /**
+     * Replaces the paths by the slice of this shard.
+     *
+     * @return false if the slice is empty
+     */
+    private boolean applyShard(Connection conn, String currentSchema, @Nullable SuiteDurationHistory history) throws SQLException {
+        List<String> paths = options.pathList.isEmpty()
+                ? Collections.singletonList(currentSchema)
+                : options.pathList;
+        List<String> suites = SuiteDiscovery.discover(conn, paths, compatibilityProxy.getUtPlsqlVersion());
+        List<String> slice = SuitePartitioner.slice(suites, options.shardIndex, options.shardCount,
+                (history != null) ? history::estimate : null);
+
+        logger.info("Shard {} of {} runs {} of {} suites", options.shardIndex + 1, options.shardCount, slice.size(), suites.size());
+        if (slice.isEmpty()) {
+            return false;
+        }
+
+        options.pathList.clear();
+        options.pathList.addAll(slice);
+        return true;
+    }
+
+    /**
+     * Runs the tests on the given executor and returns immediately.
+     * The connection is taken from the supplier when the run starts and closed when it's finished.
+     * Failing tests complete the future normally, see {@link RunResult#hasFailedTests()}.
+     * <p>
+     * Cancelling the returned future cancels the running statement in the database.
+     * A TestRunner can only run once at a time.
+     *
+     * @param connectionSupplier supplies the connection to run on
+     * @param executor           the executor to run on
+     * @return future of the run result
+     */
+    public CompletableFuture<RunResult> runAsync(ConnectionSupplier connectionSupplier, Executor executor) {
+        RunHandle runHandle = new RunHandle();
+        CompletableFuture<RunResult> future = new CompletableFuture<RunResult>() {
+            @Override
+            public boolean cancel(boolean mayInterruptIfRunning) {
+                boolean cancelled = super.cancel(mayInterruptIfRunning);
+                if (cancelled) {
+                    try {
+                        runHandle.cancel();
+                    } catch (SQLException e) {
+                        logger.warn("Could not cancel running test statement", e);
+                    }
+                }
+                return cancelled;
+            }
+        };
+
+        try {
+            executor.execute(() -> {
+                if (future.isDone()) {
+                    return;
+                }
+                long start = System.nanoTime();
+                try (Connection conn = connectionSupplier.getConnection()) {
+                    boolean testsFailed = false;
+                    try {
+                        run(conn, runHandle);
+                    } catch (SomeTestsFailedException e) {
+                        testsFailed = true;
+                    }
+                    future.complete(new RunResult(getUsedDatabaseVersion(), new ArrayList<>(options.reporterList),
+                            testsFailed, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start), skipped));
+                } catch (Throwable e) {
+                    future.completeExceptionally(e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(e);
+        }
+        return future;
+    }
+
+    /**
+     * Cancels the current run from another thread. A run which didn't start executing yet won't start anymore.
+     *
+     * @throws SQLException if the running statement can't be cancelled
+     */
+    public void cancel() throws SQLException {
+        RunHandle runHandle = currentRun;
+        if (runHandle != null) {
+            runHandle.cancel();
+        }
+    }
+
+    /**
+     * Connects a single run with the threads which might cancel it.
+     */
+    static class RunHandle {
+        private volatile boolean cancelled = false;
+        private volatile TestRunnerStatement statement;
+
+        void throwIfCancelled(@Nullable Throwable cause) throws SQLException {
+            if (cancelled) {
+                throw new SQLException("Test run was cancelled", cause);
+            }
+        }
+
+        void cancel() throws SQLException {
+            cancelled = true;
+            TestRunnerStatement runningStatement = statement;
+            if (runningStatement != null) {
+                logger.info("Cancelling test run");
+                runningStatement.cancel();
+            }
+        }
+    }
+
+    @Nullable
+    private ReporterOutputDrainer startOutputDrainer(@Nullable Reporter durationReporter) {
+        if (outputConnectionSupplier == null || outputSinkProvider == null) {
+            return null;
+        }
+
+        Map<Reporter, Consumer<String>> sinks = new LinkedHashMap<>();
+        for (Reporter r : options.reporterList) {
+            if (r == durationReporter) {
+                // Read after the run for the suite durations
+                continue;
+            }
+            Consumer<String> sink = outputSinkProvider.apply(r);
+            if (sink != null) {
+                sinks.put(r, sink);
+            }
+        }
+
+        logger.info("Draining output of {} reporters while running", sinks.size());
+        return ReporterOutputDrainer.start(outputConnectionSupplier, sinks);
+    }
+
+    private void finishOutputDrainer(ReporterOutputDrainer outputDrainer, @Nullable SQLException runException) throws SQLException {
+        boolean finishedRegularly = runException == null || runException.getErrorCode() == SomeTestsFailedException.ERROR_CODE;
+        try {
+            if (finishedRegularly) {
+                // Reporters were finished regularly, so only the remaining output has to be read
+                outputDrainer.awaitCompletion(options.outputDrainTimeoutMillis, TimeUnit.MILLISECONDS);
+            } else {
+                // Reporters might never be finished, so we don't wait long
+                outputDrainer.awaitCompletion(OUTPUT_DRAIN_TIMEOUT_ON_ERROR_SECONDS, TimeUnit.SECONDS);
+            }
+        } catch (SQLException e) {
+            if (runException == null) throw e;
+            runException.addSuppressed(e);
+        } catch (TimeoutException e) {
+            if (!finishedRegularly) {
+                logger.warn("Reporter output could not be drained completely after failed run");
+            } else {
+                SQLException timeoutException = new SQLException(
+                        "Reporter output was not drained within " + options.outputDrainTimeoutMillis + " ms", e);
+                if (runException == null) throw timeoutException;
+                runException.addSuppressed(timeoutException);
+            }
+        } finally {
+            outputDrainer.close();
         }
     }
 
     private TestRunnerStatement initStatementWithTimeout( Connection conn ) throws OracleCreateStatmenetStuckException, SQLException {
-        ExecutorService executor = Executors.newSingleThreadExecutor();
         Callable<TestRunnerStatement> callable = () -> compatibilityProxy.getTestRunnerStatement(options, conn);
-        Future<TestRunnerStatement> future = executor.submit(callable);
 
         // We want to leave the statement open in case of stuck scenario
         TestRunnerStatement testRunnerStatement = null;
         try {
-            testRunnerStatement = future.get(2, TimeUnit.SECONDS);
+            testRunnerStatement = StatementWatchdog.shared()
+                    .callWithTimeout(callable, options.statementPrepareTimeoutMillis, TimeUnit.MILLISECONDS);
         } catch (TimeoutException e) {
             logger.error("Detected Oracle driver stuck during Statement initialization");
-            executor.shutdownNow();
             throw new OracleCreateStatmenetStuckException(e);
         } catch (InterruptedException e) {
             handleException(e);
@@ -250,16 +715,48 @@ public class TestRunner {
     }
 
     /**
-     * Check if the reporter was initialized, if not call reporter.init.
+     * Executes the statement unless the run was cancelled before.
+     * A cancel arriving while the statement runs is reported as cancellation, even if the statement returned normally
+     * because the cancel reached the database before the statement did.
+     */
+    void executeUnlessCancelled( TestRunnerStatement testRunnerStatement, RunHandle runHandle ) throws SQLException {
+        runHandle.throwIfCancelled(null);
+        try {
+            executeWithTimeout(testRunnerStatement);
+        } catch (SQLException e) {
+            runHandle.throwIfCancelled(e);
+            throw e;
+        }
+        runHandle.throwIfCancelled(null);
+    }
+
+    private void executeWithTimeout( TestRunnerStatement testRunnerStatement ) throws SQLException {
+        if (options.executionTimeoutMillis <= 0) {
+            testRunnerStatement.execute();
+            return;
+        }
+
+        try (StatementWatchdog.Deadline deadline = StatementWatchdog.shared()
+                .watch(testRunnerStatement, options.executionTimeoutMillis, TimeUnit.MILLISECONDS)) {
+            try {
+                testRunnerStatement.execute();
+            } catch (SQLException e) {
+                if (deadline.isExpired()) {
+                    throw new TestRunTimeoutException(options.executionTimeoutMillis, e);
+                }
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Returns whether the reporter still has to be initialized.
      *
-     * @param conn     the database connection
      * @param reporter the reporter
-     * @throws SQLException any sql exception
+     * @return true if the reporter has no id yet
      */
-    private void validateReporter(Connection conn, Reporter reporter) throws SQLException {
-        if (!reporter.isInit() || reporter.getId() == null || reporter.getId().isEmpty()) {
-            reporter.init(conn, compatibilityProxy, reporterFactory);
-        }
+    private boolean needsInit(Reporter reporter) {
+        return !reporter.isInit() || reporter.getId() == null || reporter.getId().isEmpty();
     }
 
     /**
@@ -3,6 +3,7 @@ package org.utplsql.api;
 import org.utplsql.api.reporter.Reporter;
 
 import java.nio.charset.Charset;
+import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.LinkedHashSet;
 import java.util.List;
@@ -30,6 +31,17 @@ public class TestRunnerOptions {
     public boolean randomTestOrder = false;
     public Integer randomTestOrderSeed;
     public final Set<String> tags = new LinkedHashSet<>();
+    public Path fileMappingCacheDirectory;
+    public int statementCacheSize = 0;
+    public String listTableName;
+    public int listTableThreshold = 10000;
+    public long statementPrepareTimeoutMillis = 2000;
+    public long executionTimeoutMillis = 0;
+    public long outputDrainTimeoutMillis = 300000;
+    public int shardIndex = 0;
+    public int shardCount = 1;
+    public Path shardDurationHistory;
+    public Path shardDurationOutput;
 
     public String getTagsAsString() {
         return String.join(",", tags);
@@ -2,8 +2,9 @@ package org.utplsql.api.compatibility;
 
 import org.utplsql.api.TestRunnerOptions;
 import org.utplsql.api.Version;
+import org.utplsql.api.db.CachedDatabaseInformation;
 import org.utplsql.api.db.DatabaseInformation;
-import org.utplsql.api.db.DefaultDatabaseInformation;
+import org.utplsql.api.db.SessionBootstrap;
 import org.utplsql.api.exception.DatabaseNotCompatibleException;
 import org.utplsql.api.outputBuffer.OutputBuffer;
 import org.utplsql.api.outputBuffer.OutputBufferProvider;
@@ -20,6 +21,7 @@ import java.util.Objects;
  * Class to check compatibility with database framework and also to give several specific implementations depending
  * on the version of the connected framework.
  * If one skips the compatibility check, the Proxy acts as like the framework has the same version as the API
+ * Without explicit DatabaseInformation, version and compatibility are taken from the shared CachedDatabaseInformation.
  *
  * @author pesse
  */
@@ -56,25 +58,47 @@ public class CompatibilityProxy {
     public CompatibilityProxy(Connection conn, @Nullable Version assumedUtPlsqlVersion, @Nullable DatabaseInformation databaseInformation) throws SQLException {
         this.databaseInformation = (databaseInformation != null)
                 ? databaseInformation
-                : new DefaultDatabaseInformation();
+                : CachedDatabaseInformation.shared();
 
         realDbPlsqlVersion = this.databaseInformation.getUtPlsqlFrameworkVersion(conn);
         if ( assumedUtPlsqlVersion != null ) {
-            utPlsqlVersion = assumedUtPlsqlVersion;
-            compatible = utPlsqlVersion.getNormalizedString().startsWith(UTPLSQL_COMPATIBILITY_VERSION);
+            useAssumedVersion(assumedUtPlsqlVersion);
         } else {
-            doCompatibilityCheckWithDatabase(conn);
+            doCompatibilityCheck(() -> versionCompatibilityCheck(conn, UTPLSQL_COMPATIBILITY_VERSION, null));
         }
     }
 
     /**
-     * Receives the current framework version from database and checks - depending on the framework version - whether
-     * the API version is compatible or not.
+     * Creates the proxy from information collected in one call by DatabaseInformation.getSessionBootstrap,
+     * without further database calls.
      *
-     * @param conn
+     * @param bootstrap             the session information, requested for UTPLSQL_COMPATIBILITY_VERSION
+     * @param assumedUtPlsqlVersion the version to assume instead of checking compatibility, may be null
+     * @throws SQLException if the framework is not compatible
+     */
+    public CompatibilityProxy(SessionBootstrap bootstrap, @Nullable Version assumedUtPlsqlVersion) throws SQLException {
+        this.databaseInformation = CachedDatabaseInformation.shared();
+
+        realDbPlsqlVersion = bootstrap.getFrameworkVersion();
+        if ( assumedUtPlsqlVersion != null ) {
+            useAssumedVersion(assumedUtPlsqlVersion);
+        } else {
+            doCompatibilityCheck(() -> bootstrapCompatibilityCheck(bootstrap));
+        }
+    }
+
+    private void useAssumedVersion(Version assumedUtPlsqlVersion) {
+        utPlsqlVersion = assumedUtPlsqlVersion;
+        compatible = utPlsqlVersion.getNormalizedString().startsWith(UTPLSQL_COMPATIBILITY_VERSION);
+    }
+
+    /**
+     * Checks - depending on the framework version - whether the API version is compatible or not.
+     *
+     * @param compatibilityCheck the check against the database, only used for frameworks supporting it
      * @throws SQLException
      */
-    private void doCompatibilityCheckWithDatabase(Connection conn) throws SQLException {
+    private void doCompatibilityCheck(CompatibilityCheck compatibilityCheck) throws SQLException {
         utPlsqlVersion = realDbPlsqlVersion;
         Version clientVersion = Version.create(UTPLSQL_COMPATIBILITY_VERSION);
 
@@ -88,7 +112,7 @@ public class CompatibilityProxy {
 
         if (OptionalFeatures.FRAMEWORK_COMPATIBILITY_CHECK.isAvailableFor(utPlsqlVersion)) {
             try {
-                compatible = versionCompatibilityCheck(conn, UTPLSQL_COMPATIBILITY_VERSION, null);
+                compatible = compatibilityCheck.isCompatible();
             } catch (SQLException e) {
                 throw new DatabaseNotCompatibleException("Compatibility-check failed with error. Aborting. Reason: " + e.getMessage(), clientVersion, Version.create("Unknown"), e);
             }
@@ -117,6 +141,21 @@ public class CompatibilityProxy {
         }
     }
 
+    private boolean bootstrapCompatibilityCheck(SessionBootstrap bootstrap) throws SQLException {
+        if (bootstrap.getCompatibilityCheckErrorCode() == 6550) {
+            return false;
+        } else if (bootstrap.getCompatibilityCheckErrorCode() != 0) {
+            throw new SQLException(bootstrap.getCompatibilityCheckErrorMessage(), null, bootstrap.getCompatibilityCheckErrorCode());
+        }
+        Integer result = bootstrap.getCompatibilityCheckResult();
+        return result != null && result == 1;
+    }
+
+    @FunctionalInterface
+    private interface CompatibilityCheck {
+        boolean isCompatible() throws SQLException;
+    }
+
     /**
      * Simple fallback check for compatiblity: Major and Minor version must be equal
      *
@@ -186,4 +225,15 @@ public class CompatibilityProxy {
     public OutputBuffer getOutputBuffer(Reporter reporter, Connection conn) throws SQLException {
         return OutputBufferProvider.getCompatibleOutputBuffer(utPlsqlVersion, reporter, conn);
     }
+
+    /**
+     * Returns an OutputBuffer compatible with the current framework, when it is already known whether the reporter has output
+     *
+     * @param reporter
+     * @param hasOutput
+     * @return
+     */
+    public OutputBuffer getOutputBuffer(Reporter reporter, boolean hasOutput) {
+        return OutputBufferProvider.getCompatibleOutputBuffer(utPlsqlVersion, reporter, hasOutput);
+    }
 }
@@ -12,6 +12,7 @@ public enum OptionalFeatures {
     FRAMEWORK_COMPATIBILITY_CHECK("3.0.3.1266", null),
     CUSTOM_REPORTERS("3.1.0.1849", null),
     CLIENT_CHARACTER_SET("3.1.2.2130", null),
+    SUITES_INFO("3.1.3.2398", null),
     RANDOM_EXECUTION_ORDER("3.1.7.2795", null),
     TAGS("3.1.7.3006", null);
 
@@ -0,0 +1,162 @@
+package org.utplsql.api.db;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.Version;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DatabaseInformation which caches framework version, Oracle version and compatibility check per database and schema,
+ * so they are only queried once for all connections to the same database.
+ * <p>
+ * Entries expire after a TTL and can be invalidated explicitly, e.g. after installing a new utPLSQL version.
+ * The current schema is not cached because it can be changed per session, it's part of the cache key instead.
+ * The key of a connection is remembered by {@link ConnectionIdentity}, so a cache hit doesn't query the database;
+ * {@link #getSessionBootstrap} reads the current schema and updates the key.
+ * Connections which don't provide URL and user are not cached.
+ */
+public class CachedDatabaseInformation implements DatabaseInformation {
+
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(10);
+
+    private static final Logger logger = LoggerFactory.getLogger(CachedDatabaseInformation.class);
+    private static final CachedDatabaseInformation SHARED = new CachedDatabaseInformation(new DefaultDatabaseInformation(), DEFAULT_TTL);
+
+    private final DatabaseInformation delegate;
+    private final long ttlNanos;
+    private final Map<String, Entry> cache = new ConcurrentHashMap<>();
+
+    public CachedDatabaseInformation(DatabaseInformation delegate, Duration ttl) {
+        this.delegate = delegate;
+        this.ttlNanos = ttl.toNanos();
+    }
+
+    /**
+     * Returns the process-wide instance used by default.
+     *
+     * @return the shared cache
+     */
+    public static CachedDatabaseInformation shared() {
+        return SHARED;
+    }
+
+    @Override
+    public Version getUtPlsqlFrameworkVersion(Connection conn) throws SQLException {
+        return cached(conn, "frameworkVersion", () -> delegate.getUtPlsqlFrameworkVersion(conn));
+    }
+
+    @Override
+    public String getOracleVersion(Connection conn) throws SQLException {
+        return cached(conn, "oracleVersion", () -> delegate.getOracleVersion(conn));
+    }
+
+    @Override
+    public String getCurrentSchema(Connection conn) throws SQLException {
+        return delegate.getCurrentSchema(conn);
+    }
+
+    @Override
+    public int frameworkCompatibilityCheck(Connection conn, String requested, @Nullable String current) throws SQLException {
+        return cached(conn, "compatibilityCheck|" + requested + "|" + current,
+                () -> delegate.frameworkCompatibilityCheck(conn, requested, current));
+    }
+
+    /**
+     * Returns the cached bootstrap information if available, only the current schema is queried then.
+     * The bootstrap of a cache miss queries the current schema once more.
+     */
+    @Override
+    public SessionBootstrap getSessionBootstrap(Connection conn, String requested, boolean checkCompatibility) throws SQLException {
+        String currentSchema = delegate.getCurrentSchema(conn);
+        String identity = ConnectionIdentity.of(conn, currentSchema);
+        if (identity == null) {
+            return delegate.getSessionBootstrap(conn, requested, checkCompatibility);
+        }
+
+        String key = identity + "#bootstrap|" + requested + "|" + checkCompatibility;
+        SessionBootstrap cachedBootstrap = lookup(key);
+        if (cachedBootstrap != null) {
+            return cachedBootstrap.withCurrentSchema(currentSchema);
+        }
+
+        SessionBootstrap bootstrap = delegate.getSessionBootstrap(conn, requested, checkCompatibility);
+        store(key, bootstrap);
+        store(identity + "#frameworkVersion", bootstrap.getFrameworkVersion());
+        return bootstrap;
+    }
+
+    /**
+     * Removes all cached information of the database and schema of the given connection.
+     *
+     * @param conn the connection
+     */
+    public void invalidate(Connection conn) {
+        String identity = ConnectionIdentity.of(conn);
+        if (identity != null) {
+            String prefix = identity + "#";
+            cache.keySet().removeIf(key -> key.startsWith(prefix));
+        }
+    }
+
+    /**
+     * Removes all cached information.
+     */
+    public void invalidateAll() {
+        cache.clear();
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T cached(Connection conn, String name, Loader<T> loader) throws SQLException {
+        String identity = ConnectionIdentity.of(conn);
+        if (identity == null) {
+            return loader.load();
+        }
+
+        String key = identity + "#" + name;
+        Entry entry = cache.get(key);
+        if (entry != null && isFresh(entry)) {
+            return (T) entry.value;
+        }
+
+        // Concurrent misses may load twice, which is cheaper than holding a lock during a database call
+        T value = loader.load();
+        store(key, value);
+        logger.debug("Cached {} for {}", name, identity);
+        return value;
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T lookup(String key) {
+        Entry entry = cache.get(key);
+        return (entry != null && isFresh(entry)) ? (T) entry.value : null;
+    }
+
+    private void store(String key, Object value) {
+        cache.put(key, new Entry(value, System.nanoTime()));
+    }
+
+    private boolean isFresh(Entry entry) {
+        return System.nanoTime() - entry.loadedAt < ttlNanos;
+    }
+
+    @FunctionalInterface
+    private interface Loader<T> {
+        T load() throws SQLException;
+    }
+
+    private static class Entry {
+        private final Object value;
+        private final long loadedAt;
+
+        Entry(Object value, long loadedAt) {
+            this.value = value;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
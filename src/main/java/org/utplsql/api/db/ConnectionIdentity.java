@@ -0,0 +1,70 @@
+package org.utplsql.api.db;
+
+import javax.annotation.Nullable;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Identifies the database and schema a connection points to, used as key for caches spanning several connections.
+ * <p>
+ * The current schema is part of the identity, because unqualified framework calls resolve in it and sessions can
+ * switch it with ALTER SESSION SET CURRENT_SCHEMA.
+ * Reading the current schema costs a round trip, so the identity is remembered per connection instance
+ * and only refreshed when a caller passes the current schema, e.g. the session bootstrap at the start of every run.
+ */
+public final class ConnectionIdentity {
+
+    private static final Map<Connection, String> IDENTITIES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private ConnectionIdentity() {
+    }
+
+    /**
+     * Returns a key built from JDBC URL, user and current schema of the connection.
+     * The current schema is only queried the first time for every connection.
+     *
+     * @param conn the connection
+     * @return the key or null if the connection doesn't provide the information
+     */
+    @Nullable
+    public static String of(Connection conn) {
+        String identity = IDENTITIES.get(conn);
+        if (identity != null) {
+            return identity;
+        }
+        try {
+            return of(conn, conn.getSchema());
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a key built from JDBC URL and user of the connection and the given current schema,
+     * for callers which already know the current schema.
+     *
+     * @param conn          the connection
+     * @param currentSchema the current schema of the session, null to use the user
+     * @return the key or null if the connection doesn't provide the information
+     */
+    @Nullable
+    public static String of(Connection conn, @Nullable String currentSchema) {
+        try {
+            DatabaseMetaData metaData = conn.getMetaData();
+            if (metaData == null || metaData.getURL() == null || metaData.getUserName() == null) {
+                return null;
+            }
+            String user = metaData.getUserName().toUpperCase();
+            String schema = (currentSchema != null) ? currentSchema.toUpperCase() : user;
+            String identity = metaData.getURL() + "|" + user + "|" + schema;
+            IDENTITIES.put(conn, identity);
+            return identity;
+        } catch (SQLException e) {
+            return null;
+        }
+    }
+}
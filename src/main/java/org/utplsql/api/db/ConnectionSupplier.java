@@ -0,0 +1,16 @@
+package org.utplsql.api.db;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+
+/**
+ * Supplies new database connections, e.g. from a DataSource or connection pool.
+ * The caller takes ownership of the returned connection and is responsible to close it.
+ * <p>
+ * Usage: <code>ConnectionSupplier supplier = dataSource::getConnection;</code>
+ */
+@FunctionalInterface
+public interface ConnectionSupplier {
+
+    Connection getConnection() throws SQLException;
+}
@@ -20,4 +20,43 @@ public interface DatabaseInformation {
     String getCurrentSchema(Connection conn) throws SQLException;
 
     int frameworkCompatibilityCheck(Connection conn, String requested, @Nullable String current) throws SQLException;
+
+    /**
+     * Collects framework version, compatibility check result and current schema.
+     * Errors of the compatibility check are returned as part of the result, not thrown.
+     *
+     * @param conn      the connection
+     * @param requested the requested framework version for the compatibility check
+     * @return the collected information
+     * @throws SQLException any database error
+     */
+    default SessionBootstrap getSessionBootstrap(Connection conn, String requested) throws SQLException {
+        return getSessionBootstrap(conn, requested, true);
+    }
+
+    /**
+     * Collects framework version, current schema and, if requested, the compatibility check result.
+     * Errors of the compatibility check are returned as part of the result, not thrown.
+     *
+     * @param conn               the connection
+     * @param requested          the requested framework version for the compatibility check
+     * @param checkCompatibility false to leave out the compatibility check, e.g. if it's skipped anyway
+     * @return the collected information
+     * @throws SQLException any database error
+     */
+    default SessionBootstrap getSessionBootstrap(Connection conn, String requested, boolean checkCompatibility) throws SQLException {
+        Version version = getUtPlsqlFrameworkVersion(conn);
+        Integer compatibilityCheckResult = null;
+        int errorCode = 0;
+        String errorMessage = null;
+        if (checkCompatibility) {
+            try {
+                compatibilityCheckResult = frameworkCompatibilityCheck(conn, requested, null);
+            } catch (SQLException e) {
+                errorCode = e.getErrorCode();
+                errorMessage = e.getMessage();
+            }
+        }
+        return new SessionBootstrap(version, getCurrentSchema(conn), compatibilityCheckResult, errorCode, errorMessage);
+    }
 }
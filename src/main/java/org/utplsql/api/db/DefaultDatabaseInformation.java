@@ -69,4 +69,61 @@ public class DefaultDatabaseInformation implements DatabaseInformation {
             return callableStatement.getInt(1);
         }
     }
+
+    /**
+     * Collects all information in one anonymous block.
+     * Framework calls are dynamic so the block compiles even if utPLSQL is not installed or too old.
+     */
+    @Override
+    public SessionBootstrap getSessionBootstrap(Connection conn, String requested, boolean checkCompatibility) throws SQLException {
+        String sql = "DECLARE\n" +
+                "  l_requested varchar2(4000) := ?;\n" +
+                "  l_version varchar2(4000);\n" +
+                "  l_compatible integer;\n" +
+                "  l_error_code integer := 0;\n" +
+                "  l_error_message varchar2(4000);\n" +
+                "BEGIN\n" +
+                "  ? := sys_context('userenv', 'current_schema');\n" +
+                "  execute immediate 'select ut_runner.version() from dual' into l_version;\n" +
+                "  ? := l_version;\n" +
+                (checkCompatibility
+                        ? "  BEGIN\n" +
+                          "    execute immediate 'BEGIN :result := ut_runner.version_compatibility_check(:requested, null); END;'\n" +
+                          "      using out l_compatible, in l_requested;\n" +
+                          "  EXCEPTION WHEN OTHERS THEN\n" +
+                          "    l_error_code := -sqlcode;\n" +
+                          "    l_error_message := sqlerrm;\n" +
+                          "  END;\n"
+                        : "") +
+                "  ? := l_compatible;\n" +
+                "  ? := l_error_code;\n" +
+                "  ? := l_error_message;\n" +
+                "END;";
+
+        try (CallableStatement callableStatement = conn.prepareCall(sql)) {
+            callableStatement.setString(1, requested);
+            callableStatement.registerOutParameter(2, Types.VARCHAR);
+            callableStatement.registerOutParameter(3, Types.VARCHAR);
+            callableStatement.registerOutParameter(4, Types.INTEGER);
+            callableStatement.registerOutParameter(5, Types.INTEGER);
+            callableStatement.registerOutParameter(6, Types.VARCHAR);
+            callableStatement.execute();
+
+            int compatibilityCheckResult = callableStatement.getInt(4);
+            boolean hasResult = !callableStatement.wasNull();
+
+            return new SessionBootstrap(
+                    Version.create(callableStatement.getString(3)),
+                    callableStatement.getString(2),
+                    hasResult ? compatibilityCheckResult : null,
+                    callableStatement.getInt(5),
+                    callableStatement.getString(6));
+        } catch (SQLException e) {
+            if (e.getErrorCode() == UtPLSQLNotInstalledException.ERROR_CODE) {
+                throw new UtPLSQLNotInstalledException(e);
+            } else {
+                throw e;
+            }
+        }
+    }
 }
@@ -3,9 +3,13 @@ package org.utplsql.api.db;
 import oracle.jdbc.OracleConnection;
 
 import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 import java.sql.Types;
 import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.regex.Pattern;
 import java.util.stream.Collectors;
 
 /** Lets you build a list of parameters for a CallableStatement
@@ -24,6 +28,30 @@ public class DynamicParameterList {
         default String getSql( String key ) {
             return key + " => ?";
         }
+
+        default String getSignature( String key ) {
+            return key + ":" + getClass().getSimpleName();
+        }
+
+        /* Parameters which are filled in a PL/SQL block before the call declare a variable
+         * and initialize it there. The binds of the initialization come before all others. */
+        default String getDeclarationSql( String key ) {
+            return "";
+        }
+
+        default String getInitializationSql( String key ) {
+            return "";
+        }
+
+        default boolean isInitialized() {
+            return false;
+        }
+
+        default void prepare( Connection connection ) throws SQLException {
+        }
+
+        default void cleanup( Connection connection ) throws SQLException {
+        }
     }
 
     private DynamicParameterList(LinkedHashMap<String, DynamicParameter> params) {
@@ -42,7 +70,47 @@ public class DynamicParameterList {
                 .collect(Collectors.joining(", "));
     }
 
-    /** Sets the contained parameters in the order they were added to the given statement by index, starting with the given one
+    /** Returns the variable declarations needed by parameters which are initialized before the call, e.g.
+     *
+     * "l_a_parameter1 ut_varchar2_list; "
+     *
+     * @return declarations for the DECLARE section, empty if there are none
+     */
+    public String getDeclarationSql() {
+        return params.entrySet().stream()
+                .map(e -> e.getValue().getDeclarationSql(e.getKey()))
+                .collect(Collectors.joining());
+    }
+
+    /** Returns the statements which initialize these variables, to be placed before the call.
+     * Their binds come first, {@link #setParamsStartWithIndex(CallableStatement, int)} takes care of that.
+     *
+     * @return initialization statements, empty if there are none
+     */
+    public String getInitializationSql() {
+        return params.entrySet().stream()
+                .map(e -> e.getValue().getInitializationSql(e.getKey()))
+                .collect(Collectors.joining());
+    }
+
+    /** Returns a key which is equal for all parameter lists producing the same SQL,
+     * built from the names and kinds of the contained parameters in order.
+     *
+     * @return signature of the parameter list
+     */
+    public String getSignature() {
+        StringBuilder sb = new StringBuilder();
+        for ( Map.Entry<String, DynamicParameter> entry : params.entrySet() ) {
+            if ( sb.length() > 0 ) {
+                sb.append(',');
+            }
+            sb.append(entry.getValue().getSignature(entry.getKey()));
+        }
+        return sb.toString();
+    }
+
+    /** Sets the contained parameters in the order they were added to the given statement by index, starting with the given one.
+     * Binds of the initialization statements are set first, in the order they appear in {@link #getInitializationSql()}
      *
      * @param statement The statement to set the parameters to
      * @param startIndex The index to start with
@@ -51,7 +119,37 @@ public class DynamicParameterList {
     public void setParamsStartWithIndex(CallableStatement statement, int startIndex ) throws SQLException {
         int index = startIndex;
         for ( DynamicParameter param : params.values() ) {
-            param.setParam(statement, index++);
+            if ( param.isInitialized() ) {
+                param.setParam(statement, index++);
+            }
+        }
+        for ( DynamicParameter param : params.values() ) {
+            if ( !param.isInitialized() ) {
+                param.setParam(statement, index++);
+            }
+        }
+    }
+
+    /** Prepares parameters which need data in the database before the statement is executed,
+     * e.g. lists passed through a temporary table
+     *
+     * @param connection The connection the statement will be executed on
+     * @throws SQLException any database error
+     */
+    public void prepare( Connection connection ) throws SQLException {
+        for ( DynamicParameter param : params.values() ) {
+            param.prepare(connection);
+        }
+    }
+
+    /** Removes the data stored by {@link #prepare(Connection)}
+     *
+     * @param connection The connection the statement was executed on
+     * @throws SQLException any database error
+     */
+    public void cleanup( Connection connection ) throws SQLException {
+        for ( DynamicParameter param : params.values() ) {
+            param.cleanup(connection);
         }
     }
 
@@ -119,6 +217,24 @@ public class DynamicParameterList {
             return this;
         }
 
+        /** Adds a list of strings which is inserted into a temporary table on {@link DynamicParameterList#prepare(Connection)}
+         * and bulk collected from that table into a variable of the given collection type, which is passed to the call.
+         * The statement has to include {@link DynamicParameterList#getDeclarationSql()} and
+         * {@link DynamicParameterList#getInitializationSql()} then.
+         * <br>
+         * The table needs the columns list_name, seq and item, see {@link org.utplsql.api.TestRunner#listTable(String, int)}
+         *
+         * @param identifier the parameter name
+         * @param value the items
+         * @param customTypeName the collection type, e.g. ut_varchar2_list
+         * @param tableName the name of the temporary table
+         * @return this builder
+         */
+        public DynamicParameterListBuilder addAsTableList(String identifier, Object[] value, String customTypeName, String tableName ) {
+            params.put(identifier, new DynamicTableListParameter(identifier, value, customTypeName, tableName));
+            return this;
+        }
+
         public DynamicParameterListBuilder add(String identifier, Boolean value) {
             params.put(identifier, new DynamicBoolParameter(value));
             return this;
@@ -217,4 +333,87 @@ public class DynamicParameterList {
         }
     }
 
+    private static class DynamicTableListParameter implements DynamicParameter {
+        private static final int BATCH_SIZE = 5000;
+        private static final Pattern TABLE_NAME = Pattern.compile("[A-Za-z][\\w$#]*(\\.[A-Za-z][\\w$#]*)?");
+
+        private final String listName;
+        private final Object[] value;
+        private final String customTypeName;
+        private final String tableName;
+
+        DynamicTableListParameter( String listName, Object[] value, String customTypeName, String tableName ) {
+            if ( !TABLE_NAME.matcher(tableName).matches() ) {
+                throw new IllegalArgumentException("Invalid table name " + tableName);
+            }
+            this.listName = listName;
+            this.value = value;
+            this.customTypeName = customTypeName;
+            this.tableName = tableName;
+        }
+
+        /* Binds the list name in the initialization, the call only gets the variable */
+        @Override
+        public void setParam(CallableStatement statement, int index) throws SQLException {
+            statement.setString(index, listName);
+        }
+
+        @Override
+        public String getSql(String key) {
+            return key + " => " + variableName(key);
+        }
+
+        @Override
+        public String getDeclarationSql(String key) {
+            return variableName(key) + " " + customTypeName + "; ";
+        }
+
+        @Override
+        public String getInitializationSql(String key) {
+            return "select item bulk collect into " + variableName(key) + " from " + tableName + " where list_name = ? order by seq; ";
+        }
+
+        @Override
+        public boolean isInitialized() {
+            return true;
+        }
+
+        private static String variableName(String key) {
+            return "l_" + key;
+        }
+
+        @Override
+        public String getSignature(String key) {
+            return key + ":" + getClass().getSimpleName() + ":" + tableName + ":" + customTypeName;
+        }
+
+        @Override
+        public void prepare(Connection connection) throws SQLException {
+            cleanup(connection);
+            try (PreparedStatement stmt = connection.prepareStatement(
+                    "insert into " + tableName + " (list_name, seq, item) values (?, ?, ?)")) {
+                for ( int i = 0; i < value.length; i++ ) {
+                    stmt.setString(1, listName);
+                    stmt.setInt(2, i);
+                    stmt.setString(3, (value[i] != null) ? value[i].toString() : null);
+                    stmt.addBatch();
+                    if ( (i + 1) % BATCH_SIZE == 0 ) {
+                        stmt.executeBatch();
+                    }
+                }
+                if ( value.length % BATCH_SIZE != 0 ) {
+                    stmt.executeBatch();
+                }
+            }
+        }
+
+        @Override
+        public void cleanup(Connection connection) throws SQLException {
+            try (PreparedStatement stmt = connection.prepareStatement("delete from " + tableName + " where list_name = ?")) {
+                stmt.setString(1, listName);
+                stmt.executeUpdate();
+            }
+        }
+    }
+
 }
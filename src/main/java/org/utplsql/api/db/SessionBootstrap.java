@@ -0,0 +1,69 @@
+package org.utplsql.api.db;
+
+import org.utplsql.api.Version;
+
+import javax.annotation.Nullable;
+
+/**
+ * Session information needed before a run, collected at once by DatabaseInformation.getSessionBootstrap.
+ */
+public class SessionBootstrap {
+
+    private final Version frameworkVersion;
+    private final String currentSchema;
+    private final Integer compatibilityCheckResult;
+    private final int compatibilityCheckErrorCode;
+    private final String compatibilityCheckErrorMessage;
+
+    public SessionBootstrap(Version frameworkVersion, String currentSchema, @Nullable Integer compatibilityCheckResult,
+                            int compatibilityCheckErrorCode, @Nullable String compatibilityCheckErrorMessage) {
+        this.frameworkVersion = frameworkVersion;
+        this.currentSchema = currentSchema;
+        this.compatibilityCheckResult = compatibilityCheckResult;
+        this.compatibilityCheckErrorCode = compatibilityCheckErrorCode;
+        this.compatibilityCheckErrorMessage = compatibilityCheckErrorMessage;
+    }
+
+    public Version getFrameworkVersion() {
+        return frameworkVersion;
+    }
+
+    public String getCurrentSchema() {
+        return currentSchema;
+    }
+
+    /**
+     * Result of ut_runner.version_compatibility_check, null if it failed or wasn't called.
+     *
+     * @return 1 if compatible
+     */
+    @Nullable
+    public Integer getCompatibilityCheckResult() {
+        return compatibilityCheckResult;
+    }
+
+    /**
+     * Oracle error code of the compatibility check, 0 if it succeeded.
+     *
+     * @return the error code
+     */
+    public int getCompatibilityCheckErrorCode() {
+        return compatibilityCheckErrorCode;
+    }
+
+    @Nullable
+    public String getCompatibilityCheckErrorMessage() {
+        return compatibilityCheckErrorMessage;
+    }
+
+    /**
+     * Returns a copy with a different current schema, which can change per session.
+     *
+     * @param currentSchema the current schema
+     * @return the new bootstrap
+     */
+    SessionBootstrap withCurrentSchema(String currentSchema) {
+        return new SessionBootstrap(frameworkVersion, currentSchema, compatibilityCheckResult,
+                compatibilityCheckErrorCode, compatibilityCheckErrorMessage);
+    }
+}
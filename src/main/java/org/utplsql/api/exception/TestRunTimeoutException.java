@@ -0,0 +1,15 @@
+package org.utplsql.api.exception;
+
+import java.sql.SQLException;
+
+/**
+ * Thrown if a test run was cancelled because it exceeded the execution timeout of the TestRunner.
+ */
+public class TestRunTimeoutException extends SQLException {
+
+    private static final long serialVersionUID = 1L;
+
+    public TestRunTimeoutException(long timeoutMillis, Throwable cause) {
+        super("Test run cancelled after exceeding the execution timeout of " + timeoutMillis + " ms", cause);
+    }
+}
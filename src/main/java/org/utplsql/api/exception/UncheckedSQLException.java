@@ -0,0 +1,19 @@
+package org.utplsql.api.exception;
+
+import java.sql.SQLException;
+import java.util.Objects;
+
+/**
+ * Wraps an SQLException where checked exceptions can't be thrown, e.g. inside a Stream.
+ */
+public class UncheckedSQLException extends RuntimeException {
+
+    public UncheckedSQLException(SQLException cause) {
+        super(Objects.requireNonNull(cause));
+    }
+
+    @Override
+    public synchronized SQLException getCause() {
+        return (SQLException) super.getCause();
+    }
+}
@@ -1,15 +1,24 @@
 package org.utplsql.api.outputBuffer;
 
+import org.utplsql.api.exception.UncheckedSQLException;
 import org.utplsql.api.reporter.Reporter;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Spliterator;
+import java.util.Spliterators;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
 
 /**
  * Fetches the lines produced by a reporter.
@@ -21,6 +30,8 @@ abstract class AbstractOutputBuffer implements OutputBuffer {
 
     private final Reporter reporter;
     private int fetchSize = 100;
+    private int adaptiveMinFetchSize = 0;
+    private int adaptiveMaxFetchSize = 0;
 
     /**
      * Creates a new DefaultOutputBuffer.
@@ -49,6 +60,20 @@ abstract class AbstractOutputBuffer implements OutputBuffer {
         return this;
     }
 
+    @Override
+    public OutputBuffer setAdaptiveFetchSize(int minFetchSize, int maxFetchSize) {
+        if (minFetchSize < 1 || maxFetchSize < minFetchSize) {
+            throw new IllegalArgumentException("Invalid fetch size bounds: " + minFetchSize + " - " + maxFetchSize);
+        }
+        this.adaptiveMinFetchSize = minFetchSize;
+        this.adaptiveMaxFetchSize = maxFetchSize;
+        return this;
+    }
+
+    int getFetchSize() {
+        return fetchSize;
+    }
+
     /**
      * Print the lines as soon as they are produced and write to a PrintStream.
      *
@@ -93,37 +118,167 @@ abstract class AbstractOutputBuffer implements OutputBuffer {
             cstmt.setFetchSize(fetchSize);
 
             try (ResultSet resultSet = (ResultSet) cstmt.getObject(1)) {
-                while (resultSet.next()) {
-                    onLineFetched.accept(resultSet.getString("text"));
+                if (adaptiveMaxFetchSize > 0) {
+                    readAdaptive(resultSet, onLineFetched);
+                } else {
+                    int textColumn = resultSet.findColumn("text");
+                    while (resultSet.next()) {
+                        onLineFetched.accept(resultSet.getString(textColumn));
+                    }
                 }
             }
         }
     }
 
     /**
-     * Get all lines from output buffer and return it as a list of strings.
+     * Reads the lines, adjusting the fetch-size as we go.
+     * The last fetch-size is kept as starting point for the next read.
+     */
+    private void readAdaptive(ResultSet resultSet, Consumer<String> onLineFetched) throws SQLException {
+        AdaptiveFetchSizeController controller = new AdaptiveFetchSizeController(adaptiveMinFetchSize, adaptiveMaxFetchSize, fetchSize);
+        resultSet.setFetchSize(controller.getFetchSize());
+        int textColumn = resultSet.findColumn("text");
+
+        long start = System.nanoTime();
+        while (resultSet.next()) {
+            String line = resultSet.getString(textColumn);
+            if (controller.onRowFetched(line != null ? line.length() : 0, System.nanoTime() - start)) {
+                resultSet.setFetchSize(controller.getFetchSize());
+            }
+            onLineFetched.accept(line);
+            start = System.nanoTime();
+        }
+
+        fetchSize = controller.getFetchSize();
+    }
+
+    @Override
+    public long transferTo(Connection conn, WritableByteChannel... channels) throws SQLException, IOException {
+        return transferTo(conn, Charset.defaultCharset(), channels);
+    }
+
+    /**
+     * Write the lines as soon as they are produced to one or more channels.
+     * Lines are encoded into pooled direct buffers which are written with gathering writes.
      *
-     * @param conn DB connection
-     * @return the lines
+     * @param conn     DB connection
+     * @param charset  the charset used to encode the lines
+     * @param channels the channels to write to
+     * @return the number of bytes written to each channel
      * @throws SQLException any sql errors
+     * @throws IOException  any errors writing to the channels
      */
-    public List<String> fetchAll(Connection conn) throws SQLException {
-
-        try (CallableStatement cstmt = getLinesCursorStatement(conn)) {
+    @Override
+    public long transferTo(Connection conn, Charset charset, WritableByteChannel... channels) throws SQLException, IOException {
+        try (ChannelLineWriter writer = new ChannelLineWriter(charset, channels)) {
+            try {
+                fetchAvailable(conn, writer);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            return writer.flush();
+        }
+    }
 
+    /**
+     * Get the lines as a lazily evaluated Stream backed by the open cursor.
+     * Closing the stream closes the cursor and the statement.
+     *
+     * @param conn DB connection
+     * @return the lines
+     * @throws SQLException any sql errors when opening the cursor
+     */
+    @Override
+    public Stream<String> stream(Connection conn) throws SQLException {
+        CallableStatement cstmt = getLinesCursorStatement(conn);
+        ResultSet resultSet = null;
+        try {
             cstmt.execute();
             cstmt.setFetchSize(fetchSize);
 
-            try (ResultSet resultSet = (ResultSet) cstmt.getObject(1)) {
+            resultSet = (ResultSet) cstmt.getObject(1);
+            resultSet.setFetchSize(fetchSize);
+            int textColumn = resultSet.findColumn("text");
 
-                List<String> outputLines = new ArrayList<>();
-                while (resultSet.next()) {
-                    outputLines.add(resultSet.getString("text"));
+            ResultSet rs = resultSet;
+            Spliterator<String> spliterator = new Spliterators.AbstractSpliterator<String>(Long.MAX_VALUE, Spliterator.ORDERED) {
+                @Override
+                public boolean tryAdvance(Consumer<? super String> action) {
+                    try {
+                        if (!rs.next()) {
+                            return false;
+                        }
+                        action.accept(rs.getString(textColumn));
+                        return true;
+                    } catch (SQLException e) {
+                        throw new UncheckedSQLException(e);
+                    }
                 }
-                return outputLines;
+            };
+
+            return StreamSupport.stream(spliterator, false)
+                    .onClose(() -> {
+                        try {
+                            close(rs, cstmt);
+                        } catch (SQLException e) {
+                            throw new UncheckedSQLException(e);
+                        }
+                    });
+        } catch (SQLException | RuntimeException e) {
+            try {
+                close(resultSet, cstmt);
+            } catch (SQLException closeException) {
+                e.addSuppressed(closeException);
             }
+            throw e;
         }
     }
 
+    private static void close(ResultSet resultSet, CallableStatement cstmt) throws SQLException {
+        try {
+            if (resultSet != null) {
+                resultSet.close();
+            }
+        } finally {
+            cstmt.close();
+        }
+    }
+
+    /**
+     * Get all lines from output buffer and return it as a list of strings.
+     *
+     * @param conn DB connection
+     * @return the lines
+     * @throws SQLException any sql errors
+     */
+    public List<String> fetchAll(Connection conn) throws SQLException {
+        List<String> outputLines = new ArrayList<>();
+        fetchAvailable(conn, outputLines::add);
+        return outputLines;
+    }
 
+    /**
+     * Get all lines from output buffer, keeping lines on the heap only up to the given threshold.
+     *
+     * @param conn           DB connection
+     * @param thresholdBytes the approximate heap size in bytes the lines may use before spilling to disk
+     * @return the lines
+     * @throws SQLException any sql errors
+     * @throws IOException  any errors writing the temp file
+     */
+    @Override
+    public SpillingLineList fetchAllSpilling(Connection conn, long thresholdBytes) throws SQLException, IOException {
+        SpillingLineList lines = new SpillingLineList(thresholdBytes);
+        try {
+            fetchAvailable(conn, lines::appendUnchecked);
+            lines.complete();
+            return lines;
+        } catch (UncheckedIOException e) {
+            lines.close();
+            throw e.getCause();
+        } catch (SQLException | IOException | RuntimeException e) {
+            lines.close();
+            throw e;
+        }
+    }
 }
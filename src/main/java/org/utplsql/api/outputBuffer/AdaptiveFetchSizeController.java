@@ -0,0 +1,73 @@
+package org.utplsql.api.outputBuffer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Adjusts the fetch size of an output cursor while it is read.
+ * <p>
+ * Rows are measured in windows of one fetch size. After each window the fetch size is doubled as long as the rows
+ * of the window were retrieved within the latency budget, and halved if retrieving them took longer
+ * (e.g. because the reporter produces its output slowly). The fetch size always stays within the given bounds
+ * and is additionally limited so that one fetch doesn't exceed a maximum amount of characters.
+ */
+class AdaptiveFetchSizeController {
+
+    static final long MAX_WINDOW_LATENCY_NANOS = TimeUnit.MILLISECONDS.toNanos(500);
+    static final long MAX_CHARS_PER_FETCH = 4 * 1024 * 1024;
+
+    private final int minFetchSize;
+    private final int maxFetchSize;
+    private int fetchSize;
+
+    private int windowRows = 0;
+    private long windowChars = 0;
+    private long windowNanos = 0;
+
+    AdaptiveFetchSizeController(int minFetchSize, int maxFetchSize, int initialFetchSize) {
+        if (minFetchSize < 1 || maxFetchSize < minFetchSize) {
+            throw new IllegalArgumentException("Invalid fetch size bounds: " + minFetchSize + " - " + maxFetchSize);
+        }
+        this.minFetchSize = minFetchSize;
+        this.maxFetchSize = maxFetchSize;
+        this.fetchSize = clamp(initialFetchSize);
+    }
+
+    int getFetchSize() {
+        return fetchSize;
+    }
+
+    /**
+     * Registers a fetched row.
+     *
+     * @param rowLength      length of the row's text
+     * @param retrievalNanos time spent in ResultSet.next() to retrieve the row
+     * @return true if the fetch size changed
+     */
+    boolean onRowFetched(int rowLength, long retrievalNanos) {
+        windowRows++;
+        windowChars += rowLength;
+        windowNanos += retrievalNanos;
+
+        if (windowRows < fetchSize) {
+            return false;
+        }
+
+        int oldFetchSize = fetchSize;
+        long newFetchSize = (windowNanos > MAX_WINDOW_LATENCY_NANOS)
+                ? fetchSize / 2
+                : fetchSize * 2L;
+
+        long avgRowLength = Math.max(1, windowChars / windowRows);
+        fetchSize = clamp(Math.min(newFetchSize, MAX_CHARS_PER_FETCH / avgRowLength));
+
+        windowRows = 0;
+        windowChars = 0;
+        windowNanos = 0;
+
+        return fetchSize != oldFetchSize;
+    }
+
+    private int clamp(long value) {
+        return (int) Math.max(minFetchSize, Math.min(maxFetchSize, value));
+    }
+}
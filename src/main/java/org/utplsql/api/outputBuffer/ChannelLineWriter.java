@@ -0,0 +1,191 @@
+package org.utplsql.api.outputBuffer;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.GatheringByteChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetEncoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.function.Consumer;
+
+/**
+ * Encodes lines into pooled direct ByteBuffers and writes them to one or more channels.
+ * Full buffers are collected and written with a single gathering write where the channel supports it.
+ * <p>
+ * IOExceptions are thrown as UncheckedIOException from accept so the writer can be used as line callback.
+ */
+class ChannelLineWriter implements Consumer<String>, AutoCloseable {
+
+    static final int BUFFER_SIZE = 64 * 1024;
+    private static final int BUFFERS_PER_WRITE = 16;
+    private static final BlockingQueue<ByteBuffer> BUFFER_POOL = new ArrayBlockingQueue<>(64);
+
+    private final WritableByteChannel[] channels;
+    private final CharsetEncoder encoder;
+    private final CharBuffer lineSeparator = CharBuffer.wrap(System.lineSeparator());
+    private final List<ByteBuffer> filledBuffers = new ArrayList<>(BUFFERS_PER_WRITE);
+    private ByteBuffer current;
+    private long bytesWritten = 0;
+
+    ChannelLineWriter(Charset charset, WritableByteChannel... channels) {
+        this.channels = channels;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.current = acquireBuffer();
+    }
+
+    @Override
+    public void accept(String line) {
+        try {
+            if (line != null) {
+                encode(CharBuffer.wrap(line));
+            }
+            lineSeparator.rewind();
+            encode(lineSeparator);
+            if (filledBuffers.size() >= BUFFERS_PER_WRITE) {
+                writeFilledBuffers();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes everything that is still buffered.
+     *
+     * @return the number of bytes written to each channel
+     * @throws IOException any IO errors
+     */
+    long flush() throws IOException {
+        finishEncoding(CharBuffer.allocate(0));
+        if (current.position() > 0) {
+            current.flip();
+            filledBuffers.add(current);
+            current = acquireBuffer();
+        }
+        writeFilledBuffers();
+        return bytesWritten;
+    }
+
+    @Override
+    public void close() {
+        releaseBuffers(filledBuffers);
+        filledBuffers.clear();
+        if (current != null) {
+            releaseBuffer(current);
+            current = null;
+        }
+    }
+
+    private void encode(CharBuffer chars) throws IOException {
+        while (handleResult(encoder.encode(chars, current, false))) {
+            // Buffer was full, continue with the next one
+        }
+        if (chars.hasRemaining()) {
+            // Only a high surrogate at the end of a line is left, which must not be lost
+            finishEncoding(chars);
+        }
+    }
+
+    /**
+     * Encodes the remaining chars as end of input, writes the final bytes of stateful charsets and resets the encoder.
+     */
+    private void finishEncoding(CharBuffer chars) throws IOException {
+        while (handleResult(encoder.encode(chars, current, true))) {
+            // Buffer was full, continue with the next one
+        }
+        while (handleResult(encoder.flush(current))) {
+            // Buffer was full, continue with the next one
+        }
+        encoder.reset();
+    }
+
+    /**
+     * Returns true if the current buffer was full and has been replaced by an empty one.
+     */
+    private boolean handleResult(CoderResult result) throws IOException {
+        if (result.isOverflow()) {
+            current.flip();
+            filledBuffers.add(current);
+            current = acquireBuffer();
+            return true;
+        }
+        if (result.isError()) {
+            result.throwException();
+        }
+        return false;
+    }
+
+    private void writeFilledBuffers() throws IOException {
+        if (filledBuffers.isEmpty()) {
+            return;
+        }
+
+        ByteBuffer[] buffers = filledBuffers.toArray(new ByteBuffer[0]);
+        long size = 0;
+        for (ByteBuffer buffer : buffers) {
+            size += buffer.remaining();
+        }
+
+        for (WritableByteChannel channel : channels) {
+            // Every channel needs its own positions on the same content
+            ByteBuffer[] views = new ByteBuffer[buffers.length];
+            for (int i = 0; i < buffers.length; i++) {
+                views[i] = buffers[i].duplicate();
+            }
+            writeFully(channel, views);
+        }
+
+        bytesWritten += size;
+        releaseBuffers(filledBuffers);
+        filledBuffers.clear();
+    }
+
+    private static void writeFully(WritableByteChannel channel, ByteBuffer[] buffers) throws IOException {
+        if (channel instanceof GatheringByteChannel) {
+            GatheringByteChannel gatheringChannel = (GatheringByteChannel) channel;
+            int offset = 0;
+            while (offset < buffers.length) {
+                gatheringChannel.write(buffers, offset, buffers.length - offset);
+                while (offset < buffers.length && !buffers[offset].hasRemaining()) {
+                    offset++;
+                }
+            }
+        } else {
+            for (ByteBuffer buffer : buffers) {
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+            }
+        }
+    }
+
+    private static ByteBuffer acquireBuffer() {
+        ByteBuffer buffer = BUFFER_POOL.poll();
+        if (buffer == null) {
+            return ByteBuffer.allocateDirect(BUFFER_SIZE);
+        }
+        buffer.clear();
+        return buffer;
+    }
+
+    private static void releaseBuffers(List<ByteBuffer> buffers) {
+        for (ByteBuffer buffer : buffers) {
+            releaseBuffer(buffer);
+        }
+    }
+
+    private static void releaseBuffer(ByteBuffer buffer) {
+        // If the pool is full the buffer is simply left to the garbage collector
+        BUFFER_POOL.offer(buffer);
+    }
+}
@@ -2,12 +2,16 @@ package org.utplsql.api.outputBuffer;
 
 import org.utplsql.api.reporter.Reporter;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 /**
  * An OutputBuffer replacement which just returns nothing at all. Suitable for Reporters without any output
@@ -32,6 +36,11 @@ class NonOutputBuffer implements OutputBuffer {
         return this;
     }
 
+    @Override
+    public OutputBuffer setAdaptiveFetchSize(int minFetchSize, int maxFetchSize) {
+        return this;
+    }
+
     @Override
     public void printAvailable(Connection conn, PrintStream ps) throws SQLException {
         List<PrintStream> printStreams = new ArrayList<>(1);
@@ -53,8 +62,30 @@ class NonOutputBuffer implements OutputBuffer {
         onLineFetched.accept(null);
     }
 
+    @Override
+    public long transferTo(Connection conn, WritableByteChannel... channels) {
+        return 0;
+    }
+
+    @Override
+    public long transferTo(Connection conn, Charset charset, WritableByteChannel... channels) {
+        return 0;
+    }
+
+    @Override
+    public Stream<String> stream(Connection conn) {
+        return Stream.empty();
+    }
+
     @Override
     public List<String> fetchAll(Connection conn) {
         return new ArrayList<>();
     }
+
+    @Override
+    public SpillingLineList fetchAllSpilling(Connection conn, long thresholdBytes) throws IOException {
+        SpillingLineList lines = new SpillingLineList(thresholdBytes);
+        lines.complete();
+        return lines;
+    }
 }
@@ -2,24 +2,39 @@ package org.utplsql.api.outputBuffer;
 
 import org.utplsql.api.reporter.Reporter;
 
+import java.io.IOException;
 import java.io.PrintStream;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.Charset;
 import java.sql.Connection;
 import java.sql.SQLException;
 import java.util.List;
 import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 public interface OutputBuffer {
 
     Reporter getReporter();
 
     /**
-     * Override the fetchSize of the OutputBuffer
+     * Override the fetchSize of the OutputBuffer.
+     * The driver array-fetches this many lines per round trip, so large values speed up reading big reports.
      *
      * @param fetchSize the ResultSet fetch-size.
      * @return this Output-Buffer
      */
     OutputBuffer setFetchSize(int fetchSize);
 
+    /**
+     * Lets the OutputBuffer adjust the fetchSize while reading, depending on the amount and speed of the produced lines.
+     * The fetchSize set via setFetchSize is used as starting point.
+     *
+     * @param minFetchSize the smallest fetch-size to use
+     * @param maxFetchSize the largest fetch-size to use
+     * @return this Output-Buffer
+     */
+    OutputBuffer setAdaptiveFetchSize(int minFetchSize, int maxFetchSize);
+
     /**
      * Print the lines as soon as they are produced and write to a PrintStream.
      *
@@ -47,6 +62,44 @@ public interface OutputBuffer {
      */
     void fetchAvailable(Connection conn, Consumer<String> onLineFetched) throws SQLException;
 
+    /**
+     * Write the lines as soon as they are produced to one or more channels, e.g. a FileChannel.
+     * Lines are encoded with the platform's default charset and terminated by the line separator.
+     * The channels are not closed.
+     *
+     * @param conn     DB connection
+     * @param channels the channels to write to
+     * @return the number of bytes written to each channel
+     * @throws SQLException any sql errors
+     * @throws IOException  any errors writing to the channels
+     */
+    long transferTo(Connection conn, WritableByteChannel... channels) throws SQLException, IOException;
+
+    /**
+     * Write the lines as soon as they are produced to one or more channels, e.g. a FileChannel.
+     * The channels are not closed.
+     *
+     * @param conn     DB connection
+     * @param charset  the charset used to encode the lines
+     * @param channels the channels to write to
+     * @return the number of bytes written to each channel
+     * @throws SQLException any sql errors
+     * @throws IOException  any errors writing to the channels
+     */
+    long transferTo(Connection conn, Charset charset, WritableByteChannel... channels) throws SQLException, IOException;
+
+    /**
+     * Get the lines as a lazily evaluated Stream backed by the open cursor.
+     * Lines are only fetched when the stream is consumed, so memory usage doesn't depend on the size of the output.
+     * The stream must be closed to release the cursor, e.g. with try-with-resources.
+     * Errors while fetching are thrown as UncheckedSQLException.
+     *
+     * @param conn DB connection
+     * @return the lines
+     * @throws SQLException any sql errors when opening the cursor
+     */
+    Stream<String> stream(Connection conn) throws SQLException;
+
     /**
      * Get all lines from output buffer and return it as a list of strings.
      *
@@ -56,4 +109,17 @@ public interface OutputBuffer {
      */
     List<String> fetchAll(Connection conn) throws SQLException;
 
+    /**
+     * Get all lines from output buffer, keeping lines on the heap only up to the given threshold.
+     * Further lines are written to a memory-mapped temp file and decoded when accessed.
+     * The returned list must be closed to delete the temp file.
+     *
+     * @param conn           DB connection
+     * @param thresholdBytes the approximate heap size in bytes the lines may use before spilling to disk
+     * @return the lines
+     * @throws SQLException any sql errors
+     * @throws IOException  any errors writing the temp file
+     */
+    SpillingLineList fetchAllSpilling(Connection conn, long thresholdBytes) throws SQLException, IOException;
+
 }
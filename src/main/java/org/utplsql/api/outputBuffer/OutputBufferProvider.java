@@ -43,6 +43,25 @@ public class OutputBufferProvider {
         return new CompatibilityOutputBufferPre310(reporter);
     }
 
+    /**
+     * Returns an OutputBuffer compatible with the given databaseVersion, when it is already known whether the Reporter has Output
+     *
+     * @param databaseVersion
+     * @param reporter
+     * @param hasOutput
+     * @return
+     */
+    public static OutputBuffer getCompatibleOutputBuffer(Version databaseVersion, Reporter reporter, boolean hasOutput) {
+        try {
+            if (databaseVersion.isGreaterOrEqualThan(Version.V3_1_0)) {
+                return hasOutput ? new DefaultOutputBuffer(reporter) : new NonOutputBuffer(reporter);
+            }
+        } catch (InvalidVersionException ignored) {
+        }
+
+        return new CompatibilityOutputBufferPre310(reporter);
+    }
+
     private static boolean hasOutput(Reporter reporter, OracleConnection oraConn) throws SQLException {
 
         String sql =
@@ -0,0 +1,168 @@
+package org.utplsql.api.outputBuffer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.db.ConnectionSupplier;
+import org.utplsql.api.reporter.Reporter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.function.Consumer;
+
+/**
+ * Reads the output of several reporters in background threads while the test run is still going on.
+ * Every reporter is drained on its own connection, because reading a reporter's output blocks until that reporter
+ * is finished. Connections are obtained from the given ConnectionSupplier.
+ * <p>
+ * Closing the drainer aborts the connections of drains which are still running, because a thread blocked in
+ * get_lines would otherwise keep its connection busy until the utPLSQL timeout expires.
+ */
+public class ReporterOutputDrainer implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReporterOutputDrainer.class);
+
+    private static final long CLOSE_TIMEOUT_SECONDS = 5;
+
+    private final ExecutorService executor;
+    private final List<Future<?>> futures = new ArrayList<>();
+    private final Set<Connection> openConnections = ConcurrentHashMap.newKeySet();
+    private volatile boolean closed = false;
+
+    private ReporterOutputDrainer(int threadCount) {
+        executor = Executors.newFixedThreadPool(Math.max(threadCount, 1), runnable -> {
+            Thread thread = new Thread(runnable, "utPLSQL-output-drainer");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Starts draining the output buffers of the given reporters.
+     * Reporters without output are skipped.
+     *
+     * @param connectionSupplier supplies the connections used to read the output
+     * @param sinks              the consumer of each reporter's lines
+     * @return the started drainer
+     */
+    public static ReporterOutputDrainer start(ConnectionSupplier connectionSupplier, Map<Reporter, Consumer<String>> sinks) {
+        Map<Reporter, Consumer<String>> drainedSinks = new LinkedHashMap<>();
+        sinks.forEach((reporter, sink) -> {
+            OutputBuffer outputBuffer = reporter.getOutputBuffer();
+            if (outputBuffer != null && !(outputBuffer instanceof NonOutputBuffer)) {
+                drainedSinks.put(reporter, sink);
+            }
+        });
+
+        ReporterOutputDrainer drainer = new ReporterOutputDrainer(drainedSinks.size());
+        drainedSinks.forEach((reporter, sink) ->
+                drainer.futures.add(drainer.executor.submit(() -> {
+                    try (Connection conn = drainer.openConnection(connectionSupplier)) {
+                        try {
+                            reporter.getOutputBuffer().fetchAvailable(conn, sink);
+                        } finally {
+                            drainer.openConnections.remove(conn);
+                        }
+                    }
+                    logger.debug("Output of reporter {} drained", reporter.getId());
+                    return null;
+                })));
+
+        return drainer;
+    }
+
+    private Connection openConnection(ConnectionSupplier connectionSupplier) throws SQLException {
+        Connection conn = connectionSupplier.getConnection();
+        openConnections.add(conn);
+        if (closed) {
+            abort(conn);
+            throw new SQLException("Reporter output drainer was closed");
+        }
+        return conn;
+    }
+
+    private static void abort(Connection conn) {
+        try {
+            conn.abort(Runnable::run);
+        } catch (SQLException | AbstractMethodError e) {
+            logger.debug("Could not abort drain connection, closing it", e);
+            try {
+                conn.close();
+            } catch (SQLException closeException) {
+                logger.warn("Could not close drain connection", closeException);
+            }
+        }
+    }
+
+    /**
+     * Waits until all reporters are completely drained.
+     *
+     * @throws SQLException the first exception which occurred during draining
+     */
+    public void awaitCompletion() throws SQLException {
+        try {
+            awaitCompletion(Long.MAX_VALUE, TimeUnit.NANOSECONDS);
+        } catch (TimeoutException e) {
+            throw new SQLException("Timeout while waiting for reporter output", e);
+        }
+    }
+
+    /**
+     * Waits at most the given time until all reporters are completely drained.
+     *
+     * @param timeout the maximum time to wait in total
+     * @param unit    the time unit of the timeout
+     * @throws SQLException     the first exception which occurred during draining
+     * @throws TimeoutException if the reporters were not drained in time
+     */
+    public void awaitCompletion(long timeout, TimeUnit unit) throws SQLException, TimeoutException {
+        long deadline = System.nanoTime() + Math.min(unit.toNanos(timeout), Long.MAX_VALUE / 2);
+        SQLException firstException = null;
+
+        for (Future<?> future : futures) {
+            try {
+                future.get(Math.max(deadline - System.nanoTime(), 0), TimeUnit.NANOSECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new SQLException("Interrupted while waiting for reporter output", e);
+            } catch (ExecutionException e) {
+                SQLException drainException = (e.getCause() instanceof SQLException)
+                        ? (SQLException) e.getCause()
+                        : new SQLException("Unknown exception while draining output, wrapping: " + e.getCause().getMessage(), e.getCause());
+                if (firstException == null) {
+                    firstException = drainException;
+                } else {
+                    firstException.addSuppressed(drainException);
+                }
+            }
+        }
+
+        if (firstException != null) {
+            throw firstException;
+        }
+    }
+
+    /**
+     * Stops all drains which are still running by aborting their connections and waits a few seconds for them to end
+     */
+    @Override
+    public void close() {
+        closed = true;
+        for (Connection conn : openConnections) {
+            abort(conn);
+        }
+        executor.shutdownNow();
+        try {
+            if (!executor.awaitTermination(CLOSE_TIMEOUT_SECONDS, TimeUnit.SECONDS)) {
+                logger.warn("Reporter output drains did not stop within {} seconds", CLOSE_TIMEOUT_SECONDS);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package org.utplsql.api.outputBuffer;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * Read-only list of output lines which keeps lines on the heap up to a threshold and spills the rest to a temp file.
+ * The spilled lines are stored UTF-8 encoded with an offset index, the file is memory-mapped and lines are decoded on access.
+ * <p>
+ * The list must be closed to delete the temp file.
+ */
+public class SpillingLineList extends AbstractList<String> implements RandomAccess, Closeable {
+
+    static final long DEFAULT_CHUNK_SIZE = 256L * 1024 * 1024;
+
+    private final long thresholdBytes;
+    private final long chunkSize;
+    private final List<String> heapLines = new ArrayList<>();
+    private long heapBytes = 0;
+
+    private Path spillFile;
+    private OutputStream spillOut;
+    private long[] offsets = new long[1024];
+    private final BitSet nullLines = new BitSet();
+    private int spilledCount = 0;
+    private long spilledBytes = 0;
+
+    private long[] chunkStarts = new long[]{0};
+    private int chunkCount = 1;
+    private MappedByteBuffer[] chunks;
+
+    SpillingLineList(long thresholdBytes) {
+        this(thresholdBytes, DEFAULT_CHUNK_SIZE);
+    }
+
+    SpillingLineList(long thresholdBytes, long chunkSize) {
+        if (thresholdBytes < 0) {
+            throw new IllegalArgumentException("thresholdBytes must not be negative but was " + thresholdBytes);
+        }
+        this.thresholdBytes = thresholdBytes;
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Appends a line, spilling it to disk if the heap threshold is reached.
+     */
+    void append(String line) throws IOException {
+        if (chunks != null) {
+            throw new IllegalStateException("SpillingLineList is already complete");
+        }
+
+        long lineBytes = (line != null) ? line.length() * 2L : 0;
+        if (spillOut == null && heapBytes + lineBytes <= thresholdBytes) {
+            heapLines.add(line);
+            heapBytes += lineBytes;
+            return;
+        }
+
+        if (spillOut == null) {
+            spillFile = Files.createTempFile("utplsql-output", ".spill");
+            spillOut = new BufferedOutputStream(Files.newOutputStream(spillFile), 64 * 1024);
+        }
+
+        byte[] bytes = (line != null) ? line.getBytes(StandardCharsets.UTF_8) : new byte[0];
+
+        // Lines never span two mapped chunks
+        if (spilledBytes > chunkStarts[chunkCount - 1] && spilledBytes + bytes.length - chunkStarts[chunkCount - 1] > chunkSize) {
+            if (chunkCount == chunkStarts.length) {
+                chunkStarts = Arrays.copyOf(chunkStarts, chunkCount * 2);
+            }
+            chunkStarts[chunkCount++] = spilledBytes;
+        }
+
+        spillOut.write(bytes);
+        if (spilledCount + 1 >= offsets.length) {
+            offsets = Arrays.copyOf(offsets, offsets.length * 2);
+        }
+        if (line == null) {
+            nullLines.set(spilledCount);
+        }
+        spilledBytes += bytes.length;
+        offsets[++spilledCount] = spilledBytes;
+    }
+
+    /**
+     * Finishes writing and maps the spilled lines for reading.
+     */
+    void complete() throws IOException {
+        if (chunks != null) {
+            return;
+        }
+        if (spillOut == null) {
+            chunks = new MappedByteBuffer[0];
+            return;
+        }
+
+        spillOut.close();
+        chunks = new MappedByteBuffer[chunkCount];
+        try (FileChannel channel = FileChannel.open(spillFile, StandardOpenOption.READ)) {
+            for (int i = 0; i < chunkCount; i++) {
+                long end = (i + 1 < chunkCount) ? chunkStarts[i + 1] : spilledBytes;
+                chunks[i] = channel.map(FileChannel.MapMode.READ_ONLY, chunkStarts[i], end - chunkStarts[i]);
+            }
+        }
+    }
+
+    /**
+     * Returns whether lines were spilled to disk.
+     *
+     * @return true if a temp file is used
+     */
+    public boolean isSpilled() {
+        return spillFile != null;
+    }
+
+    @Override
+    public String get(int index) {
+        if (index < 0 || index >= size()) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size());
+        }
+        if (index < heapLines.size()) {
+            return heapLines.get(index);
+        }
+        if (chunks == null) {
+            throw new IllegalStateException("SpillingLineList is not complete yet");
+        }
+
+        int spillIndex = index - heapLines.size();
+        if (nullLines.get(spillIndex)) {
+            return null;
+        }
+
+        long start = offsets[spillIndex];
+        int length = (int) (offsets[spillIndex + 1] - start);
+        int chunk = findChunk(start);
+
+        // Duplicate so concurrent readers don't share a position
+        ByteBuffer buffer = chunks[chunk].duplicate();
+        buffer.position((int) (start - chunkStarts[chunk]));
+        buffer.limit(buffer.position() + length);
+        return StandardCharsets.UTF_8.decode(buffer).toString();
+    }
+
+    private int findChunk(long offset) {
+        int pos = Arrays.binarySearch(chunkStarts, 0, chunkCount, offset);
+        return (pos >= 0) ? pos : -pos - 2;
+    }
+
+    @Override
+    public int size() {
+        return heapLines.size() + spilledCount;
+    }
+
+    /**
+     * Deletes the temp file. The list must not be used afterwards.
+     *
+     * @throws IOException if the temp file can't be deleted
+     */
+    @Override
+    public void close() throws IOException {
+        if (spillFile == null) {
+            return;
+        }
+        chunks = new MappedByteBuffer[0];
+        if (spillOut != null) {
+            spillOut.close();
+        }
+        try {
+            Files.deleteIfExists(spillFile);
+        } catch (IOException e) {
+            // Mapped files can't be deleted on some platforms until the mapping is garbage collected
+            spillFile.toFile().deleteOnExit();
+        }
+        spillFile = null;
+    }
+
+    /**
+     * Used as line callback, IOExceptions are thrown as UncheckedIOException.
+     */
+    void appendUnchecked(String line) {
+        try {
+            append(line);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -18,6 +18,10 @@ public class DefaultReporter extends Reporter {
 
     @Override
     protected void initOutputBuffer(OracleConnection oraConn, CompatibilityProxy compatibilityProxy) throws SQLException {
-        outputBuffer = compatibilityProxy.getOutputBuffer(this, oraConn);
+        if (getKnownHasOutput() != null) {
+            outputBuffer = compatibilityProxy.getOutputBuffer(this, getKnownHasOutput());
+        } else {
+            outputBuffer = compatibilityProxy.getOutputBuffer(this, oraConn);
+        }
     }
 }
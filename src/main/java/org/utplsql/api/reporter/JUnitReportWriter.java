@@ -0,0 +1,137 @@
+package org.utplsql.api.reporter;
+
+import org.utplsql.api.reporter.realtime.RunFinished;
+import org.utplsql.api.reporter.realtime.SuiteItem;
+import org.utplsql.api.reporter.realtime.SuiteNode;
+import org.utplsql.api.reporter.realtime.TestFinished;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Writes a JUnit XML report like ut_junit_reporter does, generated from realtime events.
+ * Every suite containing tests becomes a testsuite element. The report is written when the run is finished.
+ */
+public class JUnitReportWriter extends RealtimeReportWriter {
+
+    private final Map<String, List<TestFinished>> testsBySuite = new LinkedHashMap<>();
+
+    public JUnitReportWriter(Writer writer) {
+        super(writer);
+    }
+
+    @Override
+    protected void onTestFinished(TestFinished event) {
+        SuiteNode suite = getParent(event.getId());
+        String suiteId = (suite != null) ? suite.getId() : "";
+        testsBySuite.computeIfAbsent(suiteId, k -> new ArrayList<>()).add(event);
+    }
+
+    @Override
+    protected void onRunFinished(RunFinished event) throws IOException {
+        try {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(getWriter());
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("testsuites");
+            xml.writeAttribute("tests", String.valueOf(countTests(event)));
+            xml.writeAttribute("skipped", String.valueOf(event.getCounter().getDisabled()));
+            xml.writeAttribute("error", String.valueOf(event.getCounter().getError()));
+            xml.writeAttribute("failure", String.valueOf(event.getCounter().getFailure()));
+            xml.writeAttribute("name", "");
+            xml.writeAttribute("time", seconds(event.getExecutionTime()));
+
+            int suiteNumber = 1;
+            for (Map.Entry<String, List<TestFinished>> entry : testsBySuite.entrySet()) {
+                writeSuite(xml, suiteNumber++, entry.getKey(), entry.getValue());
+            }
+
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not write JUnit report", e);
+        }
+    }
+
+    private int countTests(RunFinished event) {
+        return event.getCounter().getDisabled() + event.getCounter().getSuccess()
+                + event.getCounter().getFailure() + event.getCounter().getError();
+    }
+
+    private void writeSuite(XMLStreamWriter xml, int suiteNumber, String suiteId, List<TestFinished> tests) throws XMLStreamException {
+        int skipped = 0;
+        int errors = 0;
+        int failures = 0;
+        Duration time = Duration.ZERO;
+        for (TestFinished test : tests) {
+            skipped += test.getCounter().getDisabled();
+            errors += test.getCounter().getError();
+            failures += test.getCounter().getFailure();
+            if (test.getExecutionTime() != null) {
+                time = time.plus(test.getExecutionTime());
+            }
+        }
+
+        SuiteItem suite = getItem(suiteId);
+        xml.writeStartElement("testsuite");
+        xml.writeAttribute("tests", String.valueOf(tests.size()));
+        xml.writeAttribute("id", String.valueOf(suiteNumber));
+        xml.writeAttribute("package", suiteId);
+        xml.writeAttribute("skipped", String.valueOf(skipped));
+        xml.writeAttribute("errors", String.valueOf(errors));
+        xml.writeAttribute("failures", String.valueOf(failures));
+        xml.writeAttribute("name", (suite != null) ? displayName(suite) : suiteId);
+        xml.writeAttribute("time", seconds(time));
+
+        for (TestFinished test : tests) {
+            writeTestCase(xml, suiteId, test);
+        }
+
+        xml.writeEndElement();
+    }
+
+    private void writeTestCase(XMLStreamWriter xml, String suiteId, TestFinished test) throws XMLStreamException {
+        SuiteItem item = getItem(test.getId());
+        xml.writeStartElement("testcase");
+        xml.writeAttribute("classname", suiteId);
+        xml.writeAttribute("name", (item != null) ? displayName(item) : test.getId());
+        xml.writeAttribute("time", seconds(test.getExecutionTime()));
+
+        if (test.getCounter().getDisabled() > 0) {
+            xml.writeEmptyElement("skipped");
+        } else if (test.getErrorStack() != null) {
+            xml.writeAttribute("status", "Error");
+            xml.writeStartElement("error");
+            xml.writeCharacters(test.getErrorStack());
+            xml.writeEndElement();
+        } else if (!test.getFailedExpectations().isEmpty()) {
+            xml.writeAttribute("status", "Failure");
+            xml.writeStartElement("failure");
+            xml.writeCharacters(formatExpectations(test.getFailedExpectations()));
+            xml.writeEndElement();
+        }
+
+        if (test.getServerOutput() != null) {
+            xml.writeStartElement("system-out");
+            xml.writeCharacters(test.getServerOutput());
+            xml.writeEndElement();
+        }
+        xml.writeEndElement();
+    }
+
+    private static String seconds(Duration duration) {
+        if (duration == null) {
+            return "0";
+        }
+        return String.format(Locale.ROOT, "%.3f", duration.toNanos() / 1_000_000_000.0);
+    }
+}
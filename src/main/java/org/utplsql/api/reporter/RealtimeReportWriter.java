@@ -0,0 +1,154 @@
+package org.utplsql.api.reporter;
+
+import org.utplsql.api.reporter.realtime.Expectation;
+import org.utplsql.api.reporter.realtime.RealtimeEvent;
+import org.utplsql.api.reporter.realtime.RunFinished;
+import org.utplsql.api.reporter.realtime.RunStarted;
+import org.utplsql.api.reporter.realtime.SuiteFinished;
+import org.utplsql.api.reporter.realtime.SuiteItem;
+import org.utplsql.api.reporter.realtime.SuiteNode;
+import org.utplsql.api.reporter.realtime.SuiteStarted;
+import org.utplsql.api.reporter.realtime.TestFinished;
+import org.utplsql.api.reporter.realtime.TestStarted;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Base for report formats which are generated on the client from the events of a single ut_realtime_reporter,
+ * so the database doesn't have to produce the same results for every format.
+ * <p>
+ * Writers can be combined with andThen and passed to RealtimeEventStream.forEach.
+ * IO errors are thrown as UncheckedIOException.
+ */
+public abstract class RealtimeReportWriter implements Consumer<RealtimeEvent> {
+
+    private final Writer writer;
+    private final Map<String, SuiteItem> items = new HashMap<>();
+    private final Map<String, SuiteNode> parents = new HashMap<>();
+
+    protected RealtimeReportWriter(Writer writer) {
+        this.writer = writer;
+    }
+
+    @Override
+    public void accept(RealtimeEvent event) {
+        try {
+            switch (event.getType()) {
+                case PRE_RUN:
+                    RunStarted runStarted = (RunStarted) event;
+                    registerItems(runStarted.getItems(), null);
+                    onRunStarted(runStarted);
+                    break;
+                case PRE_SUITE:
+                    onSuiteStarted((SuiteStarted) event);
+                    break;
+                case POST_SUITE:
+                    onSuiteFinished((SuiteFinished) event);
+                    break;
+                case PRE_TEST:
+                    onTestStarted((TestStarted) event);
+                    break;
+                case POST_TEST:
+                    onTestFinished((TestFinished) event);
+                    break;
+                case POST_RUN:
+                    onRunFinished((RunFinished) event);
+                    writer.flush();
+                    break;
+                default:
+                    break;
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private void registerItems(List<SuiteItem> suiteItems, SuiteNode parent) {
+        for (SuiteItem item : suiteItems) {
+            items.put(item.getId(), item);
+            if (parent != null) {
+                parents.put(item.getId(), parent);
+            }
+            if (item instanceof SuiteNode) {
+                registerItems(((SuiteNode) item).getItems(), (SuiteNode) item);
+            }
+        }
+    }
+
+    protected Writer getWriter() {
+        return writer;
+    }
+
+    /**
+     * Returns the suite or test with the given id as announced at the start of the run.
+     *
+     * @param id the suite path
+     * @return the item or null if unknown
+     */
+    protected SuiteItem getItem(String id) {
+        return items.get(id);
+    }
+
+    /**
+     * Returns the suite containing the item with the given id.
+     *
+     * @param id the suite path
+     * @return the parent suite or null if the item is on top level or unknown
+     */
+    protected SuiteNode getParent(String id) {
+        return parents.get(id);
+    }
+
+    /**
+     * Returns the description of an item, falling back to its name.
+     */
+    protected static String displayName(SuiteItem item) {
+        return (item.getDescription() != null) ? item.getDescription() : item.getName();
+    }
+
+    /**
+     * Formats the failed expectations of a test as plain text.
+     */
+    protected static String formatExpectations(List<Expectation> expectations) {
+        StringBuilder sb = new StringBuilder();
+        for (Expectation expectation : expectations) {
+            if (sb.length() > 0) {
+                sb.append("\n");
+            }
+            if (expectation.getDescription() != null) {
+                sb.append(expectation.getDescription()).append("\n");
+            }
+            if (expectation.getMessage() != null) {
+                sb.append(expectation.getMessage()).append("\n");
+            }
+            if (expectation.getCaller() != null) {
+                sb.append(expectation.getCaller()).append("\n");
+            }
+        }
+        return sb.toString();
+    }
+
+    protected void onRunStarted(RunStarted event) throws IOException {
+    }
+
+    protected void onSuiteStarted(SuiteStarted event) throws IOException {
+    }
+
+    protected void onSuiteFinished(SuiteFinished event) throws IOException {
+    }
+
+    protected void onTestStarted(TestStarted event) throws IOException {
+    }
+
+    protected void onTestFinished(TestFinished event) throws IOException {
+    }
+
+    protected void onRunFinished(RunFinished event) throws IOException {
+    }
+}
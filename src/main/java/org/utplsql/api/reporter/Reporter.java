@@ -10,6 +10,7 @@ import org.slf4j.LoggerFactory;
 import org.utplsql.api.compatibility.CompatibilityProxy;
 import org.utplsql.api.outputBuffer.OutputBuffer;
 
+import javax.annotation.Nullable;
 import java.sql.Connection;
 import java.sql.SQLException;
 
@@ -26,6 +27,7 @@ public abstract class Reporter implements ORAData {
     private String id;
     private Object[] attributes;
     private boolean init = false;
+    private Boolean knownHasOutput;
 
     public Reporter(String typeName, Object[] attributes) {
         setTypeName(typeName);
@@ -56,6 +58,39 @@ public abstract class Reporter implements ORAData {
         return init(con, null, null);
     }
 
+    /**
+     * Initializes the Reporter with the attributes of a reporter already created in the database,
+     * used by ReporterBatchInitializer.
+     *
+     * @param oraConn            the connection
+     * @param dbAttributes       attributes of the database reporter
+     * @param hasOutput          whether the database reporter produces output
+     * @param compatibilityProxy compatibility proxy of the connection
+     * @return this reporter
+     * @throws SQLException any database error
+     */
+    Reporter initFromDb(OracleConnection oraConn, Object[] dbAttributes, boolean hasOutput, CompatibilityProxy compatibilityProxy) throws SQLException {
+        setAttributes(dbAttributes);
+        knownHasOutput = hasOutput;
+        init = true;
+
+        logger.debug("Database-reporter initialized, Type: {}, ID: {}", selfType, id);
+
+        initOutputBuffer(oraConn, compatibilityProxy);
+
+        return this;
+    }
+
+    /**
+     * Returns whether the database reporter produces output, if already known from initialization.
+     *
+     * @return true/false or null if unknown
+     */
+    @Nullable
+    protected Boolean getKnownHasOutput() {
+        return knownHasOutput;
+    }
+
     protected abstract void initOutputBuffer(OracleConnection oraConn, CompatibilityProxy compatibilityProxy) throws SQLException;
 
     /**
@@ -0,0 +1,100 @@
+package org.utplsql.api.reporter;
+
+import oracle.jdbc.OracleCallableStatement;
+import oracle.jdbc.OracleConnection;
+import oracle.jdbc.OracleTypes;
+import oracle.sql.Datum;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.CustomTypes;
+import org.utplsql.api.Version;
+import org.utplsql.api.compatibility.CompatibilityProxy;
+import org.utplsql.api.exception.InvalidVersionException;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Initializes several reporters with one database call.
+ * All reporter objects are created in one anonymous block which also tells which of them produce output,
+ * so no further probes are needed to set up the OutputBuffers.
+ * <p>
+ * Frameworks before 3.1.0 don't know about reporters without output, there the reporters are initialized one by one.
+ */
+public final class ReporterBatchInitializer {
+
+    private static final Logger logger = LoggerFactory.getLogger(ReporterBatchInitializer.class);
+
+    private static final String INIT_SQL =
+            "DECLARE\n" +
+            "  l_types ut_varchar2_list := ?;\n" +
+            "  l_reporters ut_reporters := ut_reporters();\n" +
+            "  l_has_output ut_varchar2_list := ut_varchar2_list();\n" +
+            "  l_reporter ut_reporter_base;\n" +
+            "BEGIN\n" +
+            "  l_reporters.extend(l_types.count);\n" +
+            "  l_has_output.extend(l_types.count);\n" +
+            "  FOR i IN 1 .. l_types.count LOOP\n" +
+            "    execute immediate 'BEGIN :reporter := ' || dbms_assert.qualified_sql_name(l_types(i)) || '(); END;'\n" +
+            "      using out l_reporter;\n" +
+            "    l_reporters(i) := l_reporter;\n" +
+            "    l_has_output(i) := case when l_reporter is of (ut_output_reporter_base) then '1' else '0' end;\n" +
+            "  END LOOP;\n" +
+            "  ? := l_reporters;\n" +
+            "  ? := l_has_output;\n" +
+            "END;";
+
+    private ReporterBatchInitializer() {
+    }
+
+    /**
+     * Initializes all given reporters.
+     *
+     * @param conn               the connection
+     * @param reporters          the reporters to initialize
+     * @param compatibilityProxy compatibility proxy of the connection
+     * @param reporterFactory    the factory used to map the database objects
+     * @throws SQLException any database error
+     */
+    public static void initialize(Connection conn, List<Reporter> reporters, CompatibilityProxy compatibilityProxy,
+                                  ReporterFactory reporterFactory) throws SQLException {
+        if (reporters.isEmpty()) {
+            return;
+        }
+        if (!isSupported(compatibilityProxy.getUtPlsqlVersion())) {
+            for (Reporter reporter : reporters) {
+                reporter.init(conn, compatibilityProxy, reporterFactory);
+            }
+            return;
+        }
+
+        OracleConnection oraConn = conn.unwrap(OracleConnection.class);
+        String[] typeNames = reporters.stream().map(Reporter::getTypeName).toArray(String[]::new);
+
+        try (OracleCallableStatement stmt = (OracleCallableStatement) oraConn.prepareCall(INIT_SQL)) {
+            stmt.setArray(1, oraConn.createOracleArray(CustomTypes.UT_VARCHAR2_LIST, typeNames));
+            stmt.registerOutParameter(2, OracleTypes.ARRAY, CustomTypes.UT_REPORTERS);
+            stmt.registerOutParameter(3, OracleTypes.ARRAY, CustomTypes.UT_VARCHAR2_LIST);
+            stmt.execute();
+
+            Object[] dbReporters = (Object[]) stmt.getArray(2).getArray();
+            String[] hasOutput = (String[]) stmt.getArray(3).getArray();
+
+            for (int i = 0; i < reporters.size(); i++) {
+                Reporter dbReporter = (Reporter) reporterFactory.create((Datum) dbReporters[i], OracleTypes.STRUCT);
+                reporters.get(i).initFromDb(oraConn, dbReporter.getAttributes(), "1".equals(hasOutput[i]), compatibilityProxy);
+            }
+        }
+
+        logger.debug("Initialized {} reporters in one call", reporters.size());
+    }
+
+    private static boolean isSupported(Version version) {
+        try {
+            return version.isGreaterOrEqualThan(Version.V3_1_0);
+        } catch (InvalidVersionException e) {
+            return false;
+        }
+    }
+}
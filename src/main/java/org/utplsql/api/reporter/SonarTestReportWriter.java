@@ -0,0 +1,111 @@
+package org.utplsql.api.reporter;
+
+import org.utplsql.api.FileMapping;
+import org.utplsql.api.reporter.realtime.RunFinished;
+import org.utplsql.api.reporter.realtime.SuiteItem;
+import org.utplsql.api.reporter.realtime.TestFinished;
+import org.utplsql.api.reporter.realtime.TestNode;
+
+import javax.xml.stream.XMLOutputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes a Sonar generic test execution report like ut_sonar_test_reporter does, generated from realtime events.
+ * Tests are assigned to files via the test file mappings, tests without mapping use owner.object_name as path.
+ * The report is written when the run is finished.
+ */
+public class SonarTestReportWriter extends RealtimeReportWriter {
+
+    private final Map<String, String> fileNames = new HashMap<>();
+    private final Map<String, List<TestFinished>> testsByFile = new LinkedHashMap<>();
+
+    public SonarTestReportWriter(Writer writer) {
+        this(writer, Collections.emptyList());
+    }
+
+    public SonarTestReportWriter(Writer writer, List<FileMapping> testFileMappings) {
+        super(writer);
+        for (FileMapping mapping : testFileMappings) {
+            fileNames.put(objectKey(mapping.getObjectOwner(), mapping.getObjectName()), mapping.getFileName());
+        }
+    }
+
+    private static String objectKey(String owner, String objectName) {
+        return (owner + "." + objectName).toUpperCase();
+    }
+
+    @Override
+    protected void onTestFinished(TestFinished event) {
+        testsByFile.computeIfAbsent(filePath(event.getId()), k -> new ArrayList<>()).add(event);
+    }
+
+    private String filePath(String testId) {
+        SuiteItem item = getItem(testId);
+        if (!(item instanceof TestNode)) {
+            return testId;
+        }
+        TestNode test = (TestNode) item;
+        String key = objectKey(test.getOwnerName(), test.getObjectName());
+        return fileNames.getOrDefault(key, test.getOwnerName() + "." + test.getObjectName());
+    }
+
+    @Override
+    protected void onRunFinished(RunFinished event) throws IOException {
+        try {
+            XMLStreamWriter xml = XMLOutputFactory.newInstance().createXMLStreamWriter(getWriter());
+            xml.writeStartDocument("UTF-8", "1.0");
+            xml.writeStartElement("testExecutions");
+            xml.writeAttribute("version", "1");
+
+            for (Map.Entry<String, List<TestFinished>> entry : testsByFile.entrySet()) {
+                xml.writeStartElement("file");
+                xml.writeAttribute("path", entry.getKey());
+                for (TestFinished test : entry.getValue()) {
+                    writeTestCase(xml, test);
+                }
+                xml.writeEndElement();
+            }
+
+            xml.writeEndElement();
+            xml.writeEndDocument();
+            xml.flush();
+        } catch (XMLStreamException e) {
+            throw new IOException("Could not write Sonar test report", e);
+        }
+    }
+
+    private void writeTestCase(XMLStreamWriter xml, TestFinished test) throws XMLStreamException {
+        SuiteItem item = getItem(test.getId());
+        long durationMillis = (test.getExecutionTime() != null) ? test.getExecutionTime().toMillis() : 0;
+
+        xml.writeStartElement("testCase");
+        xml.writeAttribute("name", (item != null && item.getName() != null) ? item.getName() : test.getId());
+        xml.writeAttribute("duration", String.valueOf(durationMillis));
+
+        if (test.getCounter().getDisabled() > 0) {
+            xml.writeEmptyElement("skipped");
+            xml.writeAttribute("message", "skipped");
+        } else if (test.getErrorStack() != null) {
+            xml.writeStartElement("error");
+            xml.writeAttribute("message", "encountered errors");
+            xml.writeCharacters(test.getErrorStack());
+            xml.writeEndElement();
+        } else if (!test.getFailedExpectations().isEmpty()) {
+            xml.writeStartElement("failure");
+            xml.writeAttribute("message", "some expectations have failed");
+            xml.writeCharacters(formatExpectations(test.getFailedExpectations()));
+            xml.writeEndElement();
+        }
+
+        xml.writeEndElement();
+    }
+}
@@ -0,0 +1,123 @@
+package org.utplsql.api.reporter;
+
+import org.utplsql.api.reporter.realtime.SuiteFinished;
+import org.utplsql.api.reporter.realtime.SuiteItem;
+import org.utplsql.api.reporter.realtime.SuiteStarted;
+import org.utplsql.api.reporter.realtime.TestFinished;
+import org.utplsql.api.reporter.realtime.TestNode;
+import org.utplsql.api.reporter.realtime.TestStarted;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes TeamCity service messages like ut_teamcity_reporter does, generated from realtime events.
+ */
+public class TeamCityReportWriter extends RealtimeReportWriter {
+
+    private static final DateTimeFormatter TIMESTAMP_FORMAT = DateTimeFormatter.ofPattern("yyyy-MM-dd'T'HH:mm:ss.SSS");
+
+    public TeamCityReportWriter(Writer writer) {
+        super(writer);
+    }
+
+    @Override
+    protected void onSuiteStarted(SuiteStarted event) throws IOException {
+        message("testSuiteStarted", null, "name", suiteName(event.getId()));
+    }
+
+    @Override
+    protected void onSuiteFinished(SuiteFinished event) throws IOException {
+        message("testSuiteFinished", event.getEndTime(), "name", suiteName(event.getId()));
+    }
+
+    @Override
+    protected void onTestStarted(TestStarted event) throws IOException {
+        message("testStarted", null, "captureStandardOutput", "true", "name", testName(event.getId()));
+    }
+
+    @Override
+    protected void onTestFinished(TestFinished event) throws IOException {
+        String name = testName(event.getId());
+        LocalDateTime endTime = event.getEndTime();
+
+        if (event.getCounter().getDisabled() > 0) {
+            message("testIgnored", endTime, "name", name);
+        } else {
+            if (event.getServerOutput() != null) {
+                message("testStdOut", endTime, "name", name, "out", event.getServerOutput());
+            }
+            if (event.getErrorStack() != null) {
+                message("testStdErr", endTime, "name", name, "out", event.getErrorStack());
+                message("testFailed", endTime, "details", event.getErrorStack(), "message", "Error", "name", name);
+            } else if (!event.getFailedExpectations().isEmpty()) {
+                message("testFailed", endTime, "details", formatExpectations(event.getFailedExpectations()),
+                        "message", "Failure", "name", name);
+            }
+        }
+
+        long durationMillis = (event.getExecutionTime() != null) ? event.getExecutionTime().toMillis() : 0;
+        message("testFinished", endTime, "duration", String.valueOf(durationMillis), "name", name);
+    }
+
+    private String suiteName(String id) {
+        SuiteItem item = getItem(id);
+        return (item != null) ? displayName(item) : id;
+    }
+
+    private String testName(String id) {
+        SuiteItem item = getItem(id);
+        if (item instanceof TestNode) {
+            TestNode test = (TestNode) item;
+            return (test.getOwnerName() + "." + test.getObjectName() + "." + test.getProcedureName()).toLowerCase();
+        }
+        return id;
+    }
+
+    private void message(String messageName, LocalDateTime timestamp, String... attributes) throws IOException {
+        Writer writer = getWriter();
+        writer.write("##teamcity[");
+        writer.write(messageName);
+        if (timestamp != null) {
+            writer.write(" timestamp='" + TIMESTAMP_FORMAT.format(timestamp) + "'");
+        }
+        for (int i = 0; i < attributes.length; i += 2) {
+            writer.write(" " + attributes[i] + "='" + escape(attributes[i + 1]) + "'");
+        }
+        writer.write("]\n");
+    }
+
+    static String escape(String value) {
+        if (value == null) {
+            return "";
+        }
+        StringBuilder sb = new StringBuilder(value.length());
+        for (char c : value.toCharArray()) {
+            switch (c) {
+                case '|':
+                    sb.append("||");
+                    break;
+                case '\'':
+                    sb.append("|'");
+                    break;
+                case '\n':
+                    sb.append("|n");
+                    break;
+                case '\r':
+                    sb.append("|r");
+                    break;
+                case '[':
+                    sb.append("|[");
+                    break;
+                case ']':
+                    sb.append("|]");
+                    break;
+                default:
+                    sb.append(c);
+            }
+        }
+        return sb.toString();
+    }
+}
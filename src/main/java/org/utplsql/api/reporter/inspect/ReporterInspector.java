@@ -32,12 +32,19 @@ public interface ReporterInspector {
         CompatibilityProxy proxy = new CompatibilityProxy(conn);
 
         if (proxy.getUtPlsqlVersion().isGreaterOrEqualThan(Version.V3_1_0)) {
-            return new ReporterInspector310(reporterFactory, conn);
+            return new ReporterInspector310(reporterFactory, conn, proxy.getUtPlsqlVersion());
         } else {
             return new ReporterInspectorPre310(reporterFactory, conn);
         }
     }
 
+    /**
+     * Clears the cached reporter names and descriptions, e.g. after installing new reporters in the database
+     */
+    static void invalidateCache() {
+        ReporterInspector310.invalidateCache();
+    }
+
     List<ReporterInfo> getReporterInfos();
 
     default Map<String, ReporterInfo> getReporterInfoMap() {
@@ -2,41 +2,63 @@ package org.utplsql.api.reporter.inspect;
 
 import oracle.jdbc.OracleCallableStatement;
 import oracle.jdbc.OracleConnection;
-import oracle.jdbc.OracleType;
-import org.utplsql.api.compatibility.CompatibilityProxy;
-import org.utplsql.api.reporter.Reporter;
+import oracle.jdbc.OracleTypes;
+import org.utplsql.api.CustomTypes;
+import org.utplsql.api.Version;
+import org.utplsql.api.db.ConnectionIdentity;
 import org.utplsql.api.reporter.ReporterFactory;
 
 import java.sql.Connection;
-import java.sql.PreparedStatement;
-import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * ReporterInspector for v3.1.0 upwards
+ * <p>
+ * Names and descriptions of all reporters are fetched in one call and cached per database, schema and framework version.
  *
  * @author pesse
  */
 class ReporterInspector310 extends AbstractReporterInspector {
 
+    private static final String REPORTERS_SQL =
+            "DECLARE\n" +
+            "  l_names ut_varchar2_list := ut_varchar2_list();\n" +
+            "  l_descriptions ut_varchar2_list := ut_varchar2_list();\n" +
+            "  l_description varchar2(4000);\n" +
+            "BEGIN\n" +
+            "  FOR r IN (select t.object_name from table(ut_runner.get_reporters_list) t order by 1) LOOP\n" +
+            "    execute immediate 'DECLARE l_reporter ut_reporter_base := ' || dbms_assert.qualified_sql_name(r.object_name) || '(); ' ||\n" +
+            "      'BEGIN :description := substr(l_reporter.get_description(), 1, 4000); END;'\n" +
+            "      using out l_description;\n" +
+            "    l_names.extend;\n" +
+            "    l_names(l_names.count) := r.object_name;\n" +
+            "    l_descriptions.extend;\n" +
+            "    l_descriptions(l_descriptions.count) := l_description;\n" +
+            "  END LOOP;\n" +
+            "  ? := l_names;\n" +
+            "  ? := l_descriptions;\n" +
+            "END;";
+
+    private static final Map<String, Map<String, String>> descriptionCache = new ConcurrentHashMap<>();
+
     private final Map<String, String> registeredReporterFactoryMethods;
     private final Set<ReporterInfo> infos;
 
-    ReporterInspector310(ReporterFactory reporterFactory, Connection conn) throws SQLException {
+    ReporterInspector310(ReporterFactory reporterFactory, Connection conn, Version databaseVersion) throws SQLException {
         super(reporterFactory, conn);
         registeredReporterFactoryMethods = reporterFactory.getRegisteredReporterInfo();
 
         Set<ReporterInfo> reporterInfos = new HashSet<>();
-        try (PreparedStatement stmt = connection.prepareStatement("select * from table(ut_runner.get_reporters_list) order by 1")) {
-            try (ResultSet rs = stmt.executeQuery()) {
-                while (rs.next()) {
-                    reporterInfos.add(getReporterInfo(rs.getString(1)));
-                }
-            }
+        for (Map.Entry<String, String> entry : getDescriptions(databaseVersion).entrySet()) {
+            reporterInfos.add(getReporterInfo(entry.getKey(), entry.getValue()));
         }
         this.infos = reporterInfos;
+    }
 
+    static void invalidateCache() {
+        descriptionCache.clear();
     }
 
     @Override
@@ -44,11 +66,44 @@ class ReporterInspector310 extends AbstractReporterInspector {
         return new ArrayList<>(infos);
     }
 
-    private ReporterInfo getReporterInfo(String reporterNameWithOwner) throws SQLException {
+    private Map<String, String> getDescriptions(Version databaseVersion) throws SQLException {
+        String identity = ConnectionIdentity.of(connection);
+        if (identity == null) {
+            return fetchDescriptions();
+        }
+
+        String key = identity + "|" + databaseVersion.toString();
+        Map<String, String> descriptions = descriptionCache.get(key);
+        if (descriptions == null) {
+            descriptions = fetchDescriptions();
+            descriptionCache.put(key, descriptions);
+        }
+        return descriptions;
+    }
+
+    private Map<String, String> fetchDescriptions() throws SQLException {
+        OracleConnection oraCon = connection.unwrap(OracleConnection.class);
+
+        try (OracleCallableStatement stmt = (OracleCallableStatement) oraCon.prepareCall(REPORTERS_SQL)) {
+            stmt.registerOutParameter(1, OracleTypes.ARRAY, CustomTypes.UT_VARCHAR2_LIST);
+            stmt.registerOutParameter(2, OracleTypes.ARRAY, CustomTypes.UT_VARCHAR2_LIST);
+            stmt.execute();
+
+            String[] names = (String[]) stmt.getArray(1).getArray();
+            String[] descriptions = (String[]) stmt.getArray(2).getArray();
+
+            Map<String, String> result = new LinkedHashMap<>();
+            for (int i = 0; i < names.length; i++) {
+                result.put(names[i], descriptions[i]);
+            }
+            return Collections.unmodifiableMap(result);
+        }
+    }
+
+    private ReporterInfo getReporterInfo(String reporterNameWithOwner, String description) {
         String reporterName = reporterNameWithOwner.substring(reporterNameWithOwner.indexOf(".") + 1).toUpperCase();
 
         ReporterInfo.Type type = ReporterInfo.Type.SQL;
-        String description = getDescription(reporterName);
 
         if (registeredReporterFactoryMethods.containsKey(reporterName)) {
             type = ReporterInfo.Type.SQL_WITH_JAVA;
@@ -58,18 +113,4 @@ class ReporterInspector310 extends AbstractReporterInspector {
         return new ReporterInfo(reporterName, type, description);
     }
 
-    private String getDescription(String reporterName) throws SQLException {
-        CompatibilityProxy compatibilityProxy = new CompatibilityProxy(connection);
-        Reporter reporter = reporterFactory.createReporter(reporterName).init(connection, compatibilityProxy, reporterFactory);
-        OracleConnection oraCon = connection.unwrap(OracleConnection.class);
-
-        try (OracleCallableStatement stmt = (OracleCallableStatement) oraCon.prepareCall("{ ? = call ?.get_description() }")) {
-            stmt.registerOutParameter(1, OracleType.VARCHAR2);
-            stmt.setORAData(2, reporter);
-            stmt.execute();
-
-            return stmt.getString(1);
-        }
-    }
-
 }
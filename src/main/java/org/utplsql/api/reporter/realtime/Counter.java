@@ -0,0 +1,51 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * Holds the number of tests per result of a run, suite or test.
+ */
+public class Counter {
+
+    private final int disabled;
+    private final int success;
+    private final int failure;
+    private final int error;
+    private final int warning;
+
+    Counter(int disabled, int success, int failure, int error, int warning) {
+        this.disabled = disabled;
+        this.success = success;
+        this.failure = failure;
+        this.error = error;
+        this.warning = warning;
+    }
+
+    public int getDisabled() {
+        return disabled;
+    }
+
+    public int getSuccess() {
+        return success;
+    }
+
+    public int getFailure() {
+        return failure;
+    }
+
+    public int getError() {
+        return error;
+    }
+
+    public int getWarning() {
+        return warning;
+    }
+
+    public boolean hasFailures() {
+        return failure > 0 || error > 0;
+    }
+
+    @Override
+    public String toString() {
+        return "Counter{disabled=" + disabled + ", success=" + success + ", failure=" + failure
+                + ", error=" + error + ", warning=" + warning + "}";
+    }
+}
@@ -0,0 +1,29 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * A failed expectation of a test.
+ */
+public class Expectation {
+
+    private final String description;
+    private final String message;
+    private final String caller;
+
+    Expectation(String description, String message, String caller) {
+        this.description = description;
+        this.message = message;
+        this.caller = caller;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+
+    public String getMessage() {
+        return message;
+    }
+
+    public String getCaller() {
+        return caller;
+    }
+}
@@ -0,0 +1,63 @@
+package org.utplsql.api.reporter.realtime;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Base for the events emitted after a run, suite or test was executed.
+ */
+public abstract class FinishedEvent extends RealtimeEvent {
+
+    private final Result result;
+
+    FinishedEvent(Type type, Result result) {
+        super(type);
+        this.result = result;
+    }
+
+    public LocalDateTime getStartTime() {
+        return result.startTime;
+    }
+
+    public LocalDateTime getEndTime() {
+        return result.endTime;
+    }
+
+    public Duration getExecutionTime() {
+        return result.executionTime;
+    }
+
+    public Counter getCounter() {
+        return result.counter;
+    }
+
+    public String getErrorStack() {
+        return result.errorStack;
+    }
+
+    public String getServerOutput() {
+        return result.serverOutput;
+    }
+
+    /**
+     * The result information shared by all finished events.
+     */
+    static class Result {
+        final LocalDateTime startTime;
+        final LocalDateTime endTime;
+        final Duration executionTime;
+        final Counter counter;
+        final String errorStack;
+        final String serverOutput;
+
+        Result(LocalDateTime startTime, LocalDateTime endTime, Duration executionTime, Counter counter,
+               String errorStack, String serverOutput) {
+            this.startTime = startTime;
+            this.endTime = endTime;
+            this.executionTime = executionTime;
+            this.counter = counter;
+            this.errorStack = errorStack;
+            this.serverOutput = serverOutput;
+        }
+    }
+}
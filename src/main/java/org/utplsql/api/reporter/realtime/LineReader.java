@@ -0,0 +1,77 @@
+package org.utplsql.api.reporter.realtime;
+
+import org.utplsql.api.exception.UncheckedSQLException;
+
+import java.io.IOException;
+import java.io.Reader;
+import java.util.Iterator;
+import java.util.regex.Pattern;
+
+/**
+ * Presents the output lines of the realtime reporter as one XML document.
+ * All lines are wrapped into an events root element and the XML declarations of the single events are removed.
+ */
+class LineReader extends Reader {
+
+    static final String ROOT_ELEMENT = "events";
+    private static final Pattern XML_DECLARATION = Pattern.compile("<\\?xml[^>]*\\?>");
+
+    private final Iterator<String> lines;
+    private final AutoCloseable onClose;
+    private String current = "<" + ROOT_ELEMENT + ">";
+    private int pos = 0;
+    private boolean finished = false;
+
+    LineReader(Iterator<String> lines, AutoCloseable onClose) {
+        this.lines = lines;
+        this.onClose = onClose;
+    }
+
+    @Override
+    public int read(char[] cbuf, int off, int len) throws IOException {
+        if (len == 0) {
+            return 0;
+        }
+        while (pos >= current.length()) {
+            if (!nextChunk()) {
+                return -1;
+            }
+        }
+        int count = Math.min(len, current.length() - pos);
+        current.getChars(pos, pos + count, cbuf, off);
+        pos += count;
+        return count;
+    }
+
+    private boolean nextChunk() throws IOException {
+        if (finished) {
+            return false;
+        }
+        try {
+            if (lines.hasNext()) {
+                String line = lines.next();
+                current = (line != null) ? XML_DECLARATION.matcher(line).replaceAll("") + "\n" : "\n";
+            } else {
+                current = "</" + ROOT_ELEMENT + ">";
+                finished = true;
+            }
+        } catch (UncheckedSQLException e) {
+            throw new IOException(e.getCause());
+        }
+        pos = 0;
+        return true;
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            onClose.close();
+        } catch (UncheckedSQLException e) {
+            throw new IOException(e.getCause());
+        } catch (IOException | RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new IOException(e);
+        }
+    }
+}
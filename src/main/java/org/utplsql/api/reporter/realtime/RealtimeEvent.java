@@ -0,0 +1,45 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * An event emitted by ut_realtime_reporter while the tests are running.
+ */
+public abstract class RealtimeEvent {
+
+    private final Type type;
+
+    RealtimeEvent(Type type) {
+        this.type = type;
+    }
+
+    public Type getType() {
+        return type;
+    }
+
+    public enum Type {
+        PRE_RUN("pre-run"),
+        PRE_SUITE("pre-suite"),
+        POST_SUITE("post-suite"),
+        PRE_TEST("pre-test"),
+        POST_TEST("post-test"),
+        POST_RUN("post-run");
+
+        private final String xmlName;
+
+        Type(String xmlName) {
+            this.xmlName = xmlName;
+        }
+
+        public String getXmlName() {
+            return xmlName;
+        }
+
+        static Type fromXmlName(String xmlName) {
+            for (Type type : values()) {
+                if (type.xmlName.equals(xmlName)) {
+                    return type;
+                }
+            }
+            return null;
+        }
+    }
+}
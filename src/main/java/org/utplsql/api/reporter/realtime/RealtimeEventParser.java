@@ -0,0 +1,160 @@
+package org.utplsql.api.reporter.realtime;
+
+import java.math.BigDecimal;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Maps the XML of a single realtime reporter event to the typed event objects.
+ */
+class RealtimeEventParser {
+
+    private RealtimeEventParser() {
+    }
+
+    /**
+     * Creates the event for the given event element.
+     *
+     * @param event the event element
+     * @return the event or null if the type is unknown
+     */
+    static RealtimeEvent parse(XmlElement event) {
+        RealtimeEvent.Type type = RealtimeEvent.Type.fromXmlName(event.getAttribute("type"));
+        if (type == null) {
+            return null;
+        }
+
+        switch (type) {
+            case PRE_RUN:
+                return new RunStarted(parseItems(event.getChild("items")), parseInt(event.getChildText("totalNumberOfTests")));
+            case PRE_SUITE:
+                return new SuiteStarted(requireChild(event, "suite").getAttribute("id"));
+            case POST_SUITE: {
+                XmlElement suite = requireChild(event, "suite");
+                return new SuiteFinished(suite.getAttribute("id"), parseResult(suite), parseWarnings(suite));
+            }
+            case PRE_TEST: {
+                XmlElement test = requireChild(event, "test");
+                return new TestStarted(test.getAttribute("id"), parseInt(test.getChildText("testNumber")),
+                        parseInt(test.getChildText("totalNumberOfTests")));
+            }
+            case POST_TEST: {
+                XmlElement test = requireChild(event, "test");
+                return new TestFinished(test.getAttribute("id"), parseInt(test.getChildText("testNumber")),
+                        parseInt(test.getChildText("totalNumberOfTests")), parseResult(test),
+                        parseExpectations(test.getChild("failedExpectations")), parseWarnings(test));
+            }
+            case POST_RUN:
+                return new RunFinished(parseResult(requireChild(event, "run")));
+            default:
+                return null;
+        }
+    }
+
+    private static XmlElement requireChild(XmlElement element, String childName) {
+        XmlElement child = element.getChild(childName);
+        if (child == null) {
+            throw new IllegalArgumentException("Event " + element.getAttribute("type") + " has no " + childName + " element");
+        }
+        return child;
+    }
+
+    private static List<SuiteItem> parseItems(XmlElement items) {
+        if (items == null) {
+            return Collections.emptyList();
+        }
+        List<SuiteItem> result = new ArrayList<>();
+        for (XmlElement item : items.getChildren()) {
+            if ("suite".equals(item.getName())) {
+                result.add(new SuiteNode(item.getAttribute("id"), item.getChildText("name"),
+                        item.getChildText("description"), parseItems(item.getChild("items"))));
+            } else if ("test".equals(item.getName())) {
+                result.add(new TestNode(item.getAttribute("id"), item.getChildText("name"),
+                        item.getChildText("description"), item.getChildText("executableType"),
+                        item.getChildText("ownerName"), item.getChildText("objectName"),
+                        item.getChildText("procedureName"), "true".equalsIgnoreCase(item.getChildText("disabled")),
+                        parseInt(item.getChildText("testNumber"))));
+            }
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static FinishedEvent.Result parseResult(XmlElement element) {
+        return new FinishedEvent.Result(
+                parseTime(element.getChildText("startTime")),
+                parseTime(element.getChildText("endTime")),
+                parseDuration(element.getChildText("executionTime")),
+                parseCounter(element.getChild("counter")),
+                element.getChildText("errorStack"),
+                element.getChildText("serverOutput"));
+    }
+
+    private static Counter parseCounter(XmlElement counter) {
+        if (counter == null) {
+            return new Counter(0, 0, 0, 0, 0);
+        }
+        return new Counter(
+                parseInt(counter.getChildText("disabled")),
+                parseInt(counter.getChildText("success")),
+                parseInt(counter.getChildText("failure")),
+                parseInt(counter.getChildText("error")),
+                parseInt(counter.getChildText("warning")));
+    }
+
+    private static List<Expectation> parseExpectations(XmlElement failedExpectations) {
+        if (failedExpectations == null) {
+            return Collections.emptyList();
+        }
+        List<Expectation> result = new ArrayList<>();
+        for (XmlElement expectation : failedExpectations.getChildren()) {
+            result.add(new Expectation(expectation.getChildText("description"),
+                    expectation.getChildText("message"), expectation.getChildText("caller")));
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static List<String> parseWarnings(XmlElement element) {
+        XmlElement warnings = element.getChild("warnings");
+        if (warnings == null) {
+            return Collections.emptyList();
+        }
+        List<String> result = new ArrayList<>();
+        for (XmlElement warning : warnings.getChildren()) {
+            result.add(warning.getText());
+        }
+        return Collections.unmodifiableList(result);
+    }
+
+    private static int parseInt(String value) {
+        return (value != null) ? Integer.parseInt(value) : 0;
+    }
+
+    /**
+     * Timestamps are formatted as ISO date-time, but the fraction separator depends on the NLS settings.
+     */
+    private static LocalDateTime parseTime(String value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDateTime.parse(value.replace(',', '.'));
+        } catch (DateTimeParseException e) {
+            return null;
+        }
+    }
+
+    /**
+     * The execution time is given in seconds.
+     */
+    private static Duration parseDuration(String value) {
+        if (value == null) {
+            return null;
+        }
+        BigDecimal seconds = new BigDecimal(value.replace(',', '.'));
+        return Duration.ofNanos(seconds.movePointRight(9).longValue());
+    }
+}
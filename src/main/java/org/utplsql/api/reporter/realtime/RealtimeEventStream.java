@@ -0,0 +1,145 @@
+package org.utplsql.api.reporter.realtime;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.outputBuffer.OutputBuffer;
+
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.Iterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+
+/**
+ * Reads the output of ut_realtime_reporter as typed events while the tests are running.
+ * <p>
+ * The output is pull-parsed with StAX, only the event currently read is held in memory.
+ * <pre>
+ * try (RealtimeEventStream events = RealtimeEventStream.open(reporter.getOutputBuffer(), conn)) {
+ *     RealtimeEvent event;
+ *     while ((event = events.next()) != null) {
+ *         ...
+ *     }
+ * }
+ * </pre>
+ */
+public class RealtimeEventStream implements AutoCloseable {
+
+    private static final Logger logger = LoggerFactory.getLogger(RealtimeEventStream.class);
+
+    private final Reader reader;
+    private XMLStreamReader xmlReader;
+
+    /**
+     * Creates a new event stream on the lines of the given iterator.
+     *
+     * @param lines   the output lines of the realtime reporter
+     * @param onClose called when the event stream is closed, e.g. to release the cursor
+     */
+    public RealtimeEventStream(Iterator<String> lines, AutoCloseable onClose) {
+        this.reader = new LineReader(lines, onClose);
+    }
+
+    /**
+     * Opens an event stream on the output buffer of a ut_realtime_reporter.
+     * The lines are fetched lazily while reading the events.
+     *
+     * @param outputBuffer the output buffer of the realtime reporter
+     * @param conn         DB connection
+     * @return the event stream, which has to be closed
+     * @throws SQLException any sql errors
+     */
+    public static RealtimeEventStream open(OutputBuffer outputBuffer, Connection conn) throws SQLException {
+        Stream<String> lines = outputBuffer.stream(conn);
+        return new RealtimeEventStream(lines.iterator(), lines);
+    }
+
+    /**
+     * Reads the next event, blocking until it is available.
+     *
+     * @return the next event or null if the output is complete
+     * @throws SQLException any sql errors while fetching or if the output can't be parsed
+     */
+    public RealtimeEvent next() throws SQLException {
+        try {
+            if (xmlReader == null) {
+                xmlReader = createXmlReader();
+            }
+
+            while (xmlReader.hasNext()) {
+                if (xmlReader.next() == XMLStreamConstants.START_ELEMENT && "event".equals(xmlReader.getLocalName())) {
+                    XmlElement element = XmlElement.read(xmlReader);
+                    RealtimeEvent event = RealtimeEventParser.parse(element);
+                    if (event != null) {
+                        return event;
+                    }
+                    logger.debug("Skipping unknown realtime event type {}", element.getAttribute("type"));
+                }
+            }
+            return null;
+        } catch (XMLStreamException e) {
+            SQLException sqlException = findSQLException(e);
+            if (sqlException != null) {
+                throw sqlException;
+            }
+            throw new SQLException("Could not parse output of realtime reporter", e);
+        } catch (IllegalArgumentException e) {
+            throw new SQLException("Could not parse output of realtime reporter", e);
+        }
+    }
+
+    /**
+     * Reads all events until the output is complete and passes them to the callback.
+     *
+     * @param onEvent the callback to be called
+     * @throws SQLException any sql errors while fetching or if the output can't be parsed
+     */
+    public void forEach(Consumer<? super RealtimeEvent> onEvent) throws SQLException {
+        RealtimeEvent event;
+        while ((event = next()) != null) {
+            onEvent.accept(event);
+        }
+    }
+
+    private XMLStreamReader createXmlReader() throws XMLStreamException {
+        XMLInputFactory factory = XMLInputFactory.newInstance();
+        factory.setProperty(XMLInputFactory.SUPPORT_DTD, false);
+        factory.setProperty(XMLInputFactory.IS_SUPPORTING_EXTERNAL_ENTITIES, false);
+        factory.setProperty(XMLInputFactory.IS_COALESCING, true);
+        return factory.createXMLStreamReader(reader);
+    }
+
+    private static SQLException findSQLException(Throwable e) {
+        Throwable cause = e;
+        while (cause != null) {
+            if (cause instanceof SQLException) {
+                return (SQLException) cause;
+            }
+            // StAX implementations don't always set the cause but only the nested exception
+            Throwable next = (cause instanceof XMLStreamException && cause.getCause() == null)
+                    ? ((XMLStreamException) cause).getNestedException()
+                    : cause.getCause();
+            cause = (next != cause) ? next : null;
+        }
+        return null;
+    }
+
+    @Override
+    public void close() throws SQLException {
+        try {
+            if (xmlReader != null) {
+                xmlReader.close();
+            }
+            reader.close();
+        } catch (XMLStreamException | IOException e) {
+            SQLException sqlException = findSQLException(e);
+            throw (sqlException != null) ? sqlException : new SQLException("Could not close realtime event stream", e);
+        }
+    }
+}
@@ -0,0 +1,11 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * Emitted after the run was executed.
+ */
+public class RunFinished extends FinishedEvent {
+
+    RunFinished(Result result) {
+        super(Type.POST_RUN, result);
+    }
+}
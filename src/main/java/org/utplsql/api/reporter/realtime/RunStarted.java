@@ -0,0 +1,26 @@
+package org.utplsql.api.reporter.realtime;
+
+import java.util.List;
+
+/**
+ * Emitted before the run, announcing all suites and tests which are going to be executed.
+ */
+public class RunStarted extends RealtimeEvent {
+
+    private final List<SuiteItem> items;
+    private final int totalNumberOfTests;
+
+    RunStarted(List<SuiteItem> items, int totalNumberOfTests) {
+        super(Type.PRE_RUN);
+        this.items = items;
+        this.totalNumberOfTests = totalNumberOfTests;
+    }
+
+    public List<SuiteItem> getItems() {
+        return items;
+    }
+
+    public int getTotalNumberOfTests() {
+        return totalNumberOfTests;
+    }
+}
@@ -0,0 +1,26 @@
+package org.utplsql.api.reporter.realtime;
+
+import java.util.List;
+
+/**
+ * Emitted after a suite was executed.
+ */
+public class SuiteFinished extends FinishedEvent {
+
+    private final String id;
+    private final List<String> warnings;
+
+    SuiteFinished(String id, Result result, List<String> warnings) {
+        super(Type.POST_SUITE, result);
+        this.id = id;
+        this.warnings = warnings;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+}
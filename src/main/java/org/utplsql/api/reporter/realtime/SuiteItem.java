@@ -0,0 +1,34 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * An item of the suite hierarchy announced at the start of the run, either a suite or a test.
+ */
+public abstract class SuiteItem {
+
+    private final String id;
+    private final String name;
+    private final String description;
+
+    SuiteItem(String id, String name, String description) {
+        this.id = id;
+        this.name = name;
+        this.description = description;
+    }
+
+    /**
+     * The suite path of the item, used as id in all following events.
+     *
+     * @return the id
+     */
+    public String getId() {
+        return id;
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public String getDescription() {
+        return description;
+    }
+}
@@ -0,0 +1,20 @@
+package org.utplsql.api.reporter.realtime;
+
+import java.util.List;
+
+/**
+ * A suite (or suitepath context) and its items.
+ */
+public class SuiteNode extends SuiteItem {
+
+    private final List<SuiteItem> items;
+
+    SuiteNode(String id, String name, String description, List<SuiteItem> items) {
+        super(id, name, description);
+        this.items = items;
+    }
+
+    public List<SuiteItem> getItems() {
+        return items;
+    }
+}
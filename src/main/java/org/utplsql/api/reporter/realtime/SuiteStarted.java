@@ -0,0 +1,18 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * Emitted before a suite is executed.
+ */
+public class SuiteStarted extends RealtimeEvent {
+
+    private final String id;
+
+    SuiteStarted(String id) {
+        super(Type.PRE_SUITE);
+        this.id = id;
+    }
+
+    public String getId() {
+        return id;
+    }
+}
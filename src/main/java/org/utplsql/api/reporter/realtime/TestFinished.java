@@ -0,0 +1,49 @@
+package org.utplsql.api.reporter.realtime;
+
+import java.util.List;
+
+/**
+ * Emitted after a test was executed.
+ */
+public class TestFinished extends FinishedEvent {
+
+    private final String id;
+    private final int testNumber;
+    private final int totalNumberOfTests;
+    private final List<Expectation> failedExpectations;
+    private final List<String> warnings;
+
+    TestFinished(String id, int testNumber, int totalNumberOfTests, Result result,
+                 List<Expectation> failedExpectations, List<String> warnings) {
+        super(Type.POST_TEST, result);
+        this.id = id;
+        this.testNumber = testNumber;
+        this.totalNumberOfTests = totalNumberOfTests;
+        this.failedExpectations = failedExpectations;
+        this.warnings = warnings;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getTestNumber() {
+        return testNumber;
+    }
+
+    public int getTotalNumberOfTests() {
+        return totalNumberOfTests;
+    }
+
+    public List<Expectation> getFailedExpectations() {
+        return failedExpectations;
+    }
+
+    public List<String> getWarnings() {
+        return warnings;
+    }
+
+    public boolean isFailed() {
+        return getCounter().hasFailures();
+    }
+}
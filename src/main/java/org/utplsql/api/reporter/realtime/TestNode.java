@@ -0,0 +1,49 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * A test of the suite hierarchy.
+ */
+public class TestNode extends SuiteItem {
+
+    private final String executableType;
+    private final String ownerName;
+    private final String objectName;
+    private final String procedureName;
+    private final boolean disabled;
+    private final int testNumber;
+
+    TestNode(String id, String name, String description, String executableType, String ownerName,
+             String objectName, String procedureName, boolean disabled, int testNumber) {
+        super(id, name, description);
+        this.executableType = executableType;
+        this.ownerName = ownerName;
+        this.objectName = objectName;
+        this.procedureName = procedureName;
+        this.disabled = disabled;
+        this.testNumber = testNumber;
+    }
+
+    public String getExecutableType() {
+        return executableType;
+    }
+
+    public String getOwnerName() {
+        return ownerName;
+    }
+
+    public String getObjectName() {
+        return objectName;
+    }
+
+    public String getProcedureName() {
+        return procedureName;
+    }
+
+    public boolean isDisabled() {
+        return disabled;
+    }
+
+    public int getTestNumber() {
+        return testNumber;
+    }
+}
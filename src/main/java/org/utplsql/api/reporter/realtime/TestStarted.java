@@ -0,0 +1,30 @@
+package org.utplsql.api.reporter.realtime;
+
+/**
+ * Emitted before a test is executed.
+ */
+public class TestStarted extends RealtimeEvent {
+
+    private final String id;
+    private final int testNumber;
+    private final int totalNumberOfTests;
+
+    TestStarted(String id, int testNumber, int totalNumberOfTests) {
+        super(Type.PRE_TEST);
+        this.id = id;
+        this.testNumber = testNumber;
+        this.totalNumberOfTests = totalNumberOfTests;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public int getTestNumber() {
+        return testNumber;
+    }
+
+    public int getTotalNumberOfTests() {
+        return totalNumberOfTests;
+    }
+}
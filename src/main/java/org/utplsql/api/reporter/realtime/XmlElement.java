@@ -0,0 +1,92 @@
+package org.utplsql.api.reporter.realtime;
+
+import javax.xml.stream.XMLStreamConstants;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Minimal element tree of a single event, read from a StAX reader.
+ */
+class XmlElement {
+
+    private final String name;
+    private final Map<String, String> attributes;
+    private final List<XmlElement> children = new ArrayList<>();
+    private final StringBuilder text = new StringBuilder();
+
+    private XmlElement(String name, Map<String, String> attributes) {
+        this.name = name;
+        this.attributes = attributes;
+    }
+
+    /**
+     * Reads the element the reader is positioned on, including all children.
+     * Afterwards the reader is positioned on the END_ELEMENT of this element.
+     */
+    static XmlElement read(XMLStreamReader reader) throws XMLStreamException {
+        Map<String, String> attributes = new HashMap<>();
+        for (int i = 0; i < reader.getAttributeCount(); i++) {
+            attributes.put(reader.getAttributeLocalName(i), reader.getAttributeValue(i));
+        }
+        XmlElement element = new XmlElement(reader.getLocalName(), attributes);
+
+        while (reader.hasNext()) {
+            switch (reader.next()) {
+                case XMLStreamConstants.START_ELEMENT:
+                    element.children.add(read(reader));
+                    break;
+                case XMLStreamConstants.CHARACTERS:
+                case XMLStreamConstants.CDATA:
+                case XMLStreamConstants.SPACE:
+                    element.text.append(reader.getText());
+                    break;
+                case XMLStreamConstants.END_ELEMENT:
+                    return element;
+                default:
+                    break;
+            }
+        }
+        throw new XMLStreamException("Unexpected end of document in element " + element.name);
+    }
+
+    String getName() {
+        return name;
+    }
+
+    String getAttribute(String attributeName) {
+        return attributes.get(attributeName);
+    }
+
+    String getText() {
+        return text.toString().trim();
+    }
+
+    XmlElement getChild(String childName) {
+        for (XmlElement child : children) {
+            if (child.name.equals(childName)) {
+                return child;
+            }
+        }
+        return null;
+    }
+
+    List<XmlElement> getChildren() {
+        return Collections.unmodifiableList(children);
+    }
+
+    /**
+     * Returns the trimmed text of a child, null if there is no such child or it is empty.
+     */
+    String getChildText(String childName) {
+        XmlElement child = getChild(childName);
+        if (child == null || child.getText().isEmpty()) {
+            return null;
+        }
+        return child.getText();
+    }
+}
@@ -10,9 +10,15 @@ import org.utplsql.api.db.DynamicParameterList;
 import java.sql.CallableStatement;
 import java.sql.Connection;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 public class DynamicTestRunnerStatement implements TestRunnerStatement {
 
+    /* The statement text only depends on which parameters are present, so it's built once per signature */
+    private static final Map<String, String> SQL_TEMPLATES = new ConcurrentHashMap<>();
+
     private CallableStatement stmt;
     private final OracleConnection oracleConnection;
     private final Version utPlSQlVersion;
@@ -33,21 +39,21 @@ public class DynamicTestRunnerStatement implements TestRunnerStatement {
     private DynamicParameterList initParameterList() throws SQLException {
 
         Object[] sourceMappings = (options.sourceMappingOptions!=null)
-                ?FileMapper.buildFileMappingList(oracleConnection, options.sourceMappingOptions).toArray()
+                ?FileMapper.buildFileMappingList(oracleConnection, options.sourceMappingOptions, options.fileMappingCacheDirectory).toArray()
                 :null;
         Object[] testMappings = (options.testMappingOptions!=null)
-                ?FileMapper.buildFileMappingList(oracleConnection, options.testMappingOptions).toArray()
+                ?FileMapper.buildFileMappingList(oracleConnection, options.testMappingOptions, options.fileMappingCacheDirectory).toArray()
                 :null;
 
-        DynamicParameterList.DynamicParameterListBuilder builder = DynamicParameterList.builder()
-                .addIfNotEmpty("a_paths", options.pathList.toArray(), CustomTypes.UT_VARCHAR2_LIST, oracleConnection)
-                .addIfNotEmpty("a_reporters", options.reporterList.toArray(), CustomTypes.UT_REPORTERS, oracleConnection)
-                .addIfNotEmpty("a_color_console", options.colorConsole)
-                .addIfNotEmpty("a_coverage_schemes", options.coverageSchemes.toArray(), CustomTypes.UT_VARCHAR2_LIST, oracleConnection)
-                .addIfNotEmpty("a_source_file_mappings", sourceMappings, CustomTypes.UT_FILE_MAPPINGS, oracleConnection)
-                .addIfNotEmpty("a_test_file_mappings", testMappings, CustomTypes.UT_FILE_MAPPINGS, oracleConnection)
-                .addIfNotEmpty("a_include_objects", options.includeObjects.toArray(), CustomTypes.UT_VARCHAR2_LIST, oracleConnection)
-                .addIfNotEmpty("a_exclude_objects", options.excludeObjects.toArray(), CustomTypes.UT_VARCHAR2_LIST, oracleConnection);
+        DynamicParameterList.DynamicParameterListBuilder builder = DynamicParameterList.builder();
+        addStringList(builder, "a_paths", options.pathList);
+        builder.addIfNotEmpty("a_reporters", options.reporterList.toArray(), CustomTypes.UT_REPORTERS, oracleConnection)
+                .addIfNotEmpty("a_color_console", options.colorConsole);
+        addStringList(builder, "a_coverage_schemes", options.coverageSchemes);
+        builder.addIfNotEmpty("a_source_file_mappings", sourceMappings, CustomTypes.UT_FILE_MAPPINGS, oracleConnection)
+                .addIfNotEmpty("a_test_file_mappings", testMappings, CustomTypes.UT_FILE_MAPPINGS, oracleConnection);
+        addStringList(builder, "a_include_objects", options.includeObjects);
+        addStringList(builder, "a_exclude_objects", options.excludeObjects);
 
         if (OptionalFeatures.FAIL_ON_ERROR.isAvailableFor(utPlSQlVersion)) {
             builder.addIfNotEmpty("a_fail_on_errors", options.failOnErrors);
@@ -66,22 +72,61 @@ public class DynamicTestRunnerStatement implements TestRunnerStatement {
         return builder.build();
     }
 
+    /* Large lists go through the list table if one is configured */
+    private void addStringList(DynamicParameterList.DynamicParameterListBuilder builder, String identifier, List<String> list) {
+        if (options.listTableName != null && list.size() >= options.listTableThreshold) {
+            builder.addAsTableList(identifier, list.toArray(), CustomTypes.UT_VARCHAR2_LIST, options.listTableName);
+        } else {
+            builder.addIfNotEmpty(identifier, list.toArray(), CustomTypes.UT_VARCHAR2_LIST, oracleConnection);
+        }
+    }
+
     private void prepareStatement() throws SQLException {
         if ( stmt == null ) {
-            String sql =  "BEGIN " +
-                    "ut_runner.run(" +
-                    dynamicParameterList.getSql() +
-                    ");" +
-                    "END;";
+            String sql = SQL_TEMPLATES.computeIfAbsent(dynamicParameterList.getSignature(), signature -> buildSql());
+            enableStatementCache();
             stmt = oracleConnection.prepareCall(sql);
         }
 
         dynamicParameterList.setParamsStartWithIndex(stmt, 1);
     }
 
+    private String buildSql() {
+        String declarations = dynamicParameterList.getDeclarationSql();
+        return (declarations.isEmpty() ? "" : "DECLARE " + declarations) +
+                "BEGIN " +
+                dynamicParameterList.getInitializationSql() +
+                "ut_runner.run(" +
+                dynamicParameterList.getSql() +
+                ");" +
+                "END;";
+    }
+
+    /* With implicit caching, closing the statement returns it to the connection's cache
+     * and the next prepareCall with the same text gets it back without parsing again */
+    private void enableStatementCache() throws SQLException {
+        if ( options.statementCacheSize > 0 && !oracleConnection.getImplicitCachingEnabled() ) {
+            oracleConnection.setImplicitCachingEnabled(true);
+            if ( oracleConnection.getStatementCacheSize() < options.statementCacheSize ) {
+                oracleConnection.setStatementCacheSize(options.statementCacheSize);
+            }
+        }
+    }
+
     @Override
     public void execute() throws SQLException {
-        stmt.execute();
+        dynamicParameterList.prepare(oracleConnection);
+        try {
+            stmt.execute();
+        } catch (SQLException e) {
+            try {
+                dynamicParameterList.cleanup(oracleConnection);
+            } catch (SQLException cleanupException) {
+                e.addSuppressed(cleanupException);
+            }
+            throw e;
+        }
+        dynamicParameterList.cleanup(oracleConnection);
     }
 
     @Override
@@ -89,6 +134,13 @@ public class DynamicTestRunnerStatement implements TestRunnerStatement {
         return dynamicParameterList.getSql();
     }
 
+    @Override
+    public void cancel() throws SQLException {
+        if (stmt != null) {
+            stmt.cancel();
+        }
+    }
+
     @Override
     public void close() throws SQLException {
         if (stmt != null) {
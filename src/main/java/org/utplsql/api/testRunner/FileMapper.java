@@ -9,8 +9,12 @@ import org.utplsql.api.CustomTypes;
 import org.utplsql.api.FileMapperOptions;
 import org.utplsql.api.FileMapping;
 import org.utplsql.api.KeyValuePair;
+import org.utplsql.api.db.CachedDatabaseInformation;
+import org.utplsql.api.db.ConnectionIdentity;
 import org.utplsql.api.db.DynamicParameterList;
 
+import javax.annotation.Nullable;
+import java.nio.file.Path;
 import java.sql.*;
 import java.util.*;
 
@@ -69,8 +73,15 @@ final class FileMapper {
         return callableStatement.getArray(1);
     }
 
+    /**
+     * Builds the file mappings in Java, or in the database if requested by the options.
+     */
     static List<FileMapping> buildFileMappingList(
             Connection conn, FileMapperOptions mapperOptions) throws SQLException {
+        if (!mapperOptions.isDatabaseMapping()) {
+            return buildFileMappingListLocally(conn, mapperOptions);
+        }
+
         java.sql.Array fileMappings = buildFileMappingArray(conn, mapperOptions);
 
         List<FileMapping> mappingList = new ArrayList<>();
@@ -81,4 +92,50 @@ final class FileMapper {
         return mappingList;
     }
 
+    /**
+     * Builds the file mappings, reusing the result of earlier runs if a cache directory is given.
+     */
+    static List<FileMapping> buildFileMappingList(
+            Connection conn, FileMapperOptions mapperOptions, @Nullable Path cacheDirectory) throws SQLException {
+        if (cacheDirectory == null) {
+            return buildFileMappingList(conn, mapperOptions);
+        }
+
+        String key = FileMappingCache.keyOf(mapperOptions,
+                mapperOptions.getObjectOwner() == null ? ConnectionIdentity.of(conn) : null);
+        if (key == null) {
+            return buildFileMappingList(conn, mapperOptions);
+        }
+
+        FileMappingCache cache = new FileMappingCache(cacheDirectory);
+        List<FileMapping> mappingList = cache.load(key);
+        if (mappingList == null) {
+            mappingList = buildFileMappingList(conn, mapperOptions);
+            cache.store(key, mappingList);
+        }
+        return mappingList;
+    }
+
+    /**
+     * The current schema is only queried if there are files without owner.
+     */
+    private static List<FileMapping> buildFileMappingListLocally(
+            Connection conn, FileMapperOptions mapperOptions) throws SQLException {
+        List<FileMapping> mappingList = LocalFileMapper.buildFileMappingList(mapperOptions, null);
+
+        String currentSchema = null;
+        for (int i = 0; i < mappingList.size(); i++) {
+            FileMapping mapping = mappingList.get(i);
+            if (mapping.getObjectOwner() == null) {
+                if (currentSchema == null) {
+                    currentSchema = CachedDatabaseInformation.shared().getCurrentSchema(conn).toUpperCase();
+                }
+                mappingList.set(i, new FileMapping(mapping.getFileName(), currentSchema, mapping.getObjectName(), mapping.getObjectType()));
+            }
+        }
+
+        logger.debug("Built {} file mappings locally", mappingList.size());
+        return mappingList;
+    }
+
 }
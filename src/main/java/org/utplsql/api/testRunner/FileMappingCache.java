@@ -0,0 +1,202 @@
+package org.utplsql.api.testRunner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.FileMapperOptions;
+import org.utplsql.api.FileMapping;
+import org.utplsql.api.KeyValuePair;
+
+import javax.annotation.Nullable;
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Stores computed file mappings in a directory so unchanged projects don't have to map their files again.
+ * <p>
+ * Every cache file is named after a SHA-256 hash of the file paths and all mapping options.
+ * If the owner of the objects isn't fixed by the options it depends on the session, so the connection identity is part of the hash.
+ * Files are written to a temp file first and moved in place, broken or outdated files are ignored.
+ */
+final class FileMappingCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(FileMappingCache.class);
+
+    private static final int MAGIC = 0x55544d43; // "UTMC"
+    private static final int FORMAT_VERSION = 1;
+    private static final String FILE_SUFFIX = ".fmc";
+
+    private final Path directory;
+
+    FileMappingCache(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Builds the cache key for the given options.
+     *
+     * @param mapperOptions      the mapping options
+     * @param connectionIdentity identity of the connection, only used if the options don't define an object owner
+     * @return the key or null if the mappings can't be cached
+     */
+    @Nullable
+    static String keyOf(FileMapperOptions mapperOptions, @Nullable String connectionIdentity) {
+        if (mapperOptions.getObjectOwner() == null && connectionIdentity == null) {
+            return null;
+        }
+
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            return null;
+        }
+
+        update(digest, String.valueOf(FORMAT_VERSION));
+        update(digest, String.valueOf(mapperOptions.isDatabaseMapping()));
+        update(digest, mapperOptions.getObjectOwner() == null ? connectionIdentity : null);
+        update(digest, mapperOptions.getObjectOwner());
+        update(digest, mapperOptions.getRegexPattern());
+        update(digest, String.valueOf(mapperOptions.getOwnerSubExpression()));
+        update(digest, String.valueOf(mapperOptions.getTypeSubExpression()));
+        update(digest, String.valueOf(mapperOptions.getNameSubExpression()));
+        if (mapperOptions.getTypeMappings() != null) {
+            update(digest, String.valueOf(mapperOptions.getTypeMappings().size()));
+            for (KeyValuePair pair : mapperOptions.getTypeMappings()) {
+                update(digest, pair.getKey());
+                update(digest, pair.getValue());
+            }
+        } else {
+            update(digest, null);
+        }
+        update(digest, String.valueOf(mapperOptions.getFilePaths().size()));
+        for (String path : mapperOptions.getFilePaths()) {
+            update(digest, path);
+        }
+
+        StringBuilder sb = new StringBuilder();
+        for (byte b : digest.digest()) {
+            sb.append(String.format("%02x", b));
+        }
+        return sb.toString();
+    }
+
+    private static void update(MessageDigest digest, @Nullable String value) {
+        // Length prefix so that ("ab", "c") and ("a", "bc") don't collide
+        if (value == null) {
+            digest.update((byte) 0);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        digest.update((byte) 1);
+        digest.update(new byte[]{(byte) (bytes.length >>> 24), (byte) (bytes.length >>> 16), (byte) (bytes.length >>> 8), (byte) bytes.length});
+        digest.update(bytes);
+    }
+
+    /**
+     * Reads the mappings stored for the given key.
+     *
+     * @param key the cache key
+     * @return the mappings or null if nothing usable is cached
+     */
+    @Nullable
+    List<FileMapping> load(String key) {
+        Path file = directory.resolve(key + FILE_SUFFIX);
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            if (buffer.getInt() != MAGIC || buffer.getInt() != FORMAT_VERSION) {
+                logger.debug("Ignoring file mapping cache {} with unknown format", file);
+                return null;
+            }
+
+            int count = buffer.getInt();
+            List<FileMapping> mappings = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                mappings.add(new FileMapping(readString(buffer), readString(buffer), readString(buffer), readString(buffer)));
+            }
+            logger.debug("Loaded {} file mappings from {}", count, file);
+            return mappings;
+        } catch (IOException | BufferUnderflowException | IllegalArgumentException e) {
+            logger.debug("Ignoring unreadable file mapping cache " + file, e);
+            return null;
+        }
+    }
+
+    /**
+     * Stores the mappings for the given key. Failures are logged and otherwise ignored.
+     *
+     * @param key      the cache key
+     * @param mappings the mappings to store
+     */
+    void store(String key, List<FileMapping> mappings) {
+        Path file = directory.resolve(key + FILE_SUFFIX);
+        Path tempFile = null;
+        try {
+            Files.createDirectories(directory);
+            tempFile = Files.createTempFile(directory, key, ".tmp");
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tempFile)))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(mappings.size());
+                for (FileMapping mapping : mappings) {
+                    writeString(out, mapping.getFileName());
+                    writeString(out, mapping.getObjectOwner());
+                    writeString(out, mapping.getObjectName());
+                    writeString(out, mapping.getObjectType());
+                }
+            }
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            tempFile = null;
+        } catch (IOException e) {
+            logger.warn("Could not write file mapping cache " + file, e);
+        } finally {
+            if (tempFile != null) {
+                try {
+                    Files.deleteIfExists(tempFile);
+                } catch (IOException ignored) {
+                    // Nothing left to do
+                }
+            }
+        }
+    }
+
+    private static void writeString(DataOutputStream out, @Nullable String value) throws IOException {
+        if (value == null) {
+            out.writeInt(-1);
+            return;
+        }
+        byte[] bytes = value.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(bytes.length);
+        out.write(bytes);
+    }
+
+    @Nullable
+    private static String readString(MappedByteBuffer buffer) {
+        int length = buffer.getInt();
+        if (length < 0) {
+            return null;
+        }
+        if (length > buffer.remaining()) {
+            throw new IllegalArgumentException("String length " + length + " exceeds file size");
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,122 @@
+package org.utplsql.api.testRunner;
+
+import org.utplsql.api.FileMapperOptions;
+import org.utplsql.api.FileMapping;
+import org.utplsql.api.KeyValuePair;
+
+import javax.annotation.Nullable;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+/**
+ * Applies the mapping rules of ut_file_mapper.build_file_mappings in Java, so no database call is needed.
+ * <p>
+ * Like in the database, only files matching the pattern and having a mapped type are returned.
+ * The regex pattern is interpreted as Java regex, which is compatible for the usual patterns.
+ * Pattern and type mappings ignore case, like in the database.
+ */
+final class LocalFileMapper {
+
+    static final String DEFAULT_REGEX_PATTERN = ".*(\\\\|/)((\\w+)\\.)?(\\w+)\\.(\\w{3})";
+    static final int DEFAULT_OWNER_SUBEXPRESSION = 3;
+    static final int DEFAULT_NAME_SUBEXPRESSION = 4;
+    static final int DEFAULT_TYPE_SUBEXPRESSION = 5;
+
+    private static final Map<String, String> DEFAULT_TYPE_MAPPINGS;
+
+    static {
+        Map<String, String> typeMappings = new HashMap<>();
+        typeMappings.put("fnc", "FUNCTION");
+        typeMappings.put("prc", "PROCEDURE");
+        typeMappings.put("tpb", "TYPE BODY");
+        typeMappings.put("pkb", "PACKAGE BODY");
+        typeMappings.put("bdy", "PACKAGE BODY");
+        typeMappings.put("trg", "TRIGGER");
+        DEFAULT_TYPE_MAPPINGS = Collections.unmodifiableMap(typeMappings);
+    }
+
+    private LocalFileMapper() {
+    }
+
+    /**
+     * Builds the file mappings.
+     * Files without owner in the path get the objectOwner of the options, or the current schema if that's not set.
+     *
+     * @param mapperOptions the mapping options
+     * @param currentSchema the current schema of the session, may be null to leave the owner empty
+     * @return the mappings in the order of the file paths
+     */
+    static List<FileMapping> buildFileMappingList(FileMapperOptions mapperOptions, @Nullable String currentSchema) {
+        Pattern pattern = Pattern.compile(
+                (mapperOptions.getRegexPattern() != null) ? mapperOptions.getRegexPattern() : DEFAULT_REGEX_PATTERN,
+                Pattern.CASE_INSENSITIVE);
+        int ownerGroup = valueOrDefault(mapperOptions.getOwnerSubExpression(), DEFAULT_OWNER_SUBEXPRESSION);
+        int nameGroup = valueOrDefault(mapperOptions.getNameSubExpression(), DEFAULT_NAME_SUBEXPRESSION);
+        int typeGroup = valueOrDefault(mapperOptions.getTypeSubExpression(), DEFAULT_TYPE_SUBEXPRESSION);
+        Map<String, String> typeMappings = getTypeMappings(mapperOptions.getTypeMappings());
+        String defaultOwner = upper((mapperOptions.getObjectOwner() != null) ? mapperOptions.getObjectOwner() : currentSchema);
+
+        return mapperOptions.getFilePaths().parallelStream()
+                .map(filePath -> mapFile(filePath, pattern, ownerGroup, nameGroup, typeGroup, typeMappings, defaultOwner))
+                .filter(Objects::nonNull)
+                .collect(Collectors.toList());
+    }
+
+    @Nullable
+    private static FileMapping mapFile(String filePath, Pattern pattern, int ownerGroup, int nameGroup, int typeGroup,
+                                       Map<String, String> typeMappings, String defaultOwner) {
+        Matcher matcher = pattern.matcher(filePath);
+        if (!matcher.find()) {
+            return null;
+        }
+
+        String objectType = typeMappings.get(lower(group(matcher, typeGroup)));
+        if (objectType == null) {
+            return null;
+        }
+
+        String owner = upper(group(matcher, ownerGroup));
+        return new FileMapping(filePath, (owner != null) ? owner : defaultOwner, upper(group(matcher, nameGroup)), objectType);
+    }
+
+    /**
+     * Returns the group or null if it doesn't exist or didn't match, like regexp_substr does.
+     */
+    @Nullable
+    private static String group(Matcher matcher, int group) {
+        if (group < 0 || group > matcher.groupCount()) {
+            return null;
+        }
+        String value = matcher.group(group);
+        return (value == null || value.isEmpty()) ? null : value;
+    }
+
+    private static Map<String, String> getTypeMappings(@Nullable List<KeyValuePair> typeMappings) {
+        if (typeMappings == null || typeMappings.isEmpty()) {
+            return DEFAULT_TYPE_MAPPINGS;
+        }
+        Map<String, String> result = new HashMap<>();
+        for (KeyValuePair pair : typeMappings) {
+            result.put(lower(pair.getKey()), upper(pair.getValue()));
+        }
+        return result;
+    }
+
+    private static int valueOrDefault(@Nullable Integer value, int defaultValue) {
+        return (value != null) ? value : defaultValue;
+    }
+
+    private static String upper(@Nullable String value) {
+        return (value != null) ? value.toUpperCase() : null;
+    }
+
+    private static String lower(@Nullable String value) {
+        return (value != null) ? value.toLowerCase() : null;
+    }
+}
@@ -0,0 +1,106 @@
+package org.utplsql.api.testRunner;
+
+import org.utplsql.api.reporter.realtime.RealtimeEvent;
+import org.utplsql.api.reporter.realtime.RealtimeEventStream;
+import org.utplsql.api.reporter.realtime.RunStarted;
+import org.utplsql.api.reporter.realtime.SuiteFinished;
+import org.utplsql.api.reporter.realtime.SuiteItem;
+import org.utplsql.api.reporter.realtime.SuiteNode;
+
+import javax.annotation.Nullable;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Reads the execution time of run paths from the events of a ut_realtime_reporter.
+ * <p>
+ * Suite paths ("owner:some.path" or ":some.path") are matched by the id of the suite,
+ * package paths ("owner.package") by the name of the outermost suite with that name.
+ * Other paths, e.g. single procedures or whole schemas, are not measured.
+ */
+public final class RealtimeSuiteDurations {
+
+    private RealtimeSuiteDurations() {
+    }
+
+    /**
+     * Reads all events and returns the execution time of every path which could be matched to a suite.
+     *
+     * @param events the events of the run
+     * @param paths  the paths of the run
+     * @return durations in milliseconds by path, in the order of the paths
+     * @throws SQLException any error while reading the events
+     */
+    public static Map<String, Long> collect(RealtimeEventStream events, List<String> paths) throws SQLException {
+        Map<String, String> pathsBySuiteId = new HashMap<>();
+        Map<String, Long> durations = new HashMap<>();
+
+        RealtimeEvent event;
+        while ((event = events.next()) != null) {
+            if (event instanceof RunStarted) {
+                for (String path : paths) {
+                    String suiteId = findSuiteId(path, ((RunStarted) event).getItems());
+                    if (suiteId != null) {
+                        pathsBySuiteId.putIfAbsent(suiteId, path);
+                    }
+                }
+            } else if (event instanceof SuiteFinished) {
+                SuiteFinished suiteFinished = (SuiteFinished) event;
+                String path = pathsBySuiteId.get(suiteFinished.getId().toLowerCase(Locale.ROOT));
+                Duration executionTime = suiteFinished.getExecutionTime();
+                if (path != null && executionTime != null) {
+                    durations.put(path, executionTime.toMillis());
+                }
+            }
+        }
+
+        Map<String, Long> result = new LinkedHashMap<>();
+        for (String path : paths) {
+            if (durations.containsKey(path)) {
+                result.put(path, durations.get(path));
+            }
+        }
+        return result;
+    }
+
+    @Nullable
+    private static String findSuiteId(String path, List<SuiteItem> items) {
+        int colonPos = path.indexOf(':');
+        if (colonPos >= 0) {
+            return path.substring(colonPos + 1).toLowerCase(Locale.ROOT);
+        }
+
+        String[] parts = path.split("\\.");
+        if (parts.length != 2) {
+            return null;
+        }
+        SuiteNode suite = findSuiteByName(parts[1], items);
+        return (suite != null) ? suite.getId().toLowerCase(Locale.ROOT) : null;
+    }
+
+    /**
+     * Searches breadth-first, so a package suite is found before contexts of the same name.
+     */
+    @Nullable
+    private static SuiteNode findSuiteByName(String name, List<SuiteItem> items) {
+        for (SuiteItem item : items) {
+            if (item instanceof SuiteNode && name.equalsIgnoreCase(item.getName())) {
+                return (SuiteNode) item;
+            }
+        }
+        for (SuiteItem item : items) {
+            if (item instanceof SuiteNode) {
+                SuiteNode suite = findSuiteByName(name, ((SuiteNode) item).getItems());
+                if (suite != null) {
+                    return suite;
+                }
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,178 @@
+package org.utplsql.api.testRunner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.SQLException;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Guards statement preparation and execution with deadlines, shared by all TestRunners of the JVM.
+ * <p>
+ * Preparations run on a pool of daemon threads which grows with the number of concurrent preparations
+ * and shrinks after a minute without work. Threads which exceed their timeout are abandoned and count as stuck
+ * until they return from the driver. If too many threads are stuck, further preparations fail immediately
+ * instead of starting more threads which would most likely get stuck as well.
+ * Execution deadlines are scheduled on one daemon thread and cancel the statement when they expire.
+ */
+public final class StatementWatchdog {
+
+    private static final Logger logger = LoggerFactory.getLogger(StatementWatchdog.class);
+
+    static final int MAX_STUCK_THREADS = 8;
+    private static final StatementWatchdog SHARED = new StatementWatchdog();
+
+    private static final int PENDING = 0;
+    private static final int RUNNING = 1;
+    private static final int FINISHED = 2;
+    private static final int ABANDONED = 3;
+
+    private final ThreadPoolExecutor prepareExecutor;
+    private final ScheduledThreadPoolExecutor deadlineScheduler;
+    private final AtomicInteger stuckThreads = new AtomicInteger();
+
+    StatementWatchdog() {
+        prepareExecutor = new ThreadPoolExecutor(0, Integer.MAX_VALUE, 60, TimeUnit.SECONDS,
+                new SynchronousQueue<>(), daemonThreadFactory("utPLSQL-statement-prepare"));
+
+        deadlineScheduler = new ScheduledThreadPoolExecutor(1, daemonThreadFactory("utPLSQL-statement-watchdog"));
+        deadlineScheduler.setRemoveOnCancelPolicy(true);
+    }
+
+    public static StatementWatchdog shared() {
+        return SHARED;
+    }
+
+    private static ThreadFactory daemonThreadFactory(String name) {
+        AtomicInteger counter = new AtomicInteger();
+        return runnable -> {
+            Thread thread = new Thread(runnable, name + "-" + counter.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        };
+    }
+
+    /**
+     * Runs the action on a watchdog thread and waits at most the given time for it.
+     * On timeout the action is interrupted and abandoned.
+     *
+     * @param action  the action, e.g. preparing a statement
+     * @param timeout the maximum time to wait
+     * @param unit    unit of the timeout
+     * @param <T>     result type
+     * @return the result of the action
+     * @throws TimeoutException     if the action didn't finish in time or too many threads are still stuck in earlier actions
+     * @throws ExecutionException   if the action failed
+     * @throws InterruptedException if the current thread was interrupted while waiting
+     */
+    public <T> T callWithTimeout(Callable<T> action, long timeout, TimeUnit unit)
+            throws TimeoutException, ExecutionException, InterruptedException {
+        int stuck = stuckThreads.get();
+        if (stuck >= MAX_STUCK_THREADS) {
+            logger.warn("{} statement preparation threads are stuck", stuck);
+            throw new TimeoutException(stuck + " statement preparation threads are stuck");
+        }
+
+        AtomicInteger state = new AtomicInteger(PENDING);
+        Future<T> future = prepareExecutor.submit(() -> {
+            if (!state.compareAndSet(PENDING, RUNNING)) {
+                return null;
+            }
+            try {
+                return action.call();
+            } finally {
+                if (!state.compareAndSet(RUNNING, FINISHED)) {
+                    stuckThreads.decrementAndGet();
+                }
+            }
+        });
+        try {
+            return future.get(timeout, unit);
+        } catch (TimeoutException | InterruptedException e) {
+            abandon(state);
+            future.cancel(true);
+            throw e;
+        }
+    }
+
+    /**
+     * Counts the thread of an action as stuck if it's still running, until the action returns.
+     */
+    private void abandon(AtomicInteger state) {
+        while (true) {
+            if (state.compareAndSet(RUNNING, ABANDONED)) {
+                stuckThreads.incrementAndGet();
+                return;
+            }
+            if (state.compareAndSet(PENDING, ABANDONED) || state.get() == FINISHED) {
+                return;
+            }
+        }
+    }
+
+    /**
+     * Cancels the statement if it's still running when the deadline expires.
+     * The returned deadline must be closed when the statement has finished.
+     *
+     * @param statement the statement to watch
+     * @param timeout   the maximum execution time
+     * @param unit      unit of the timeout
+     * @return the deadline
+     */
+    public Deadline watch(TestRunnerStatement statement, long timeout, TimeUnit unit) {
+        Deadline deadline = new Deadline();
+        deadline.future = deadlineScheduler.schedule(() -> {
+            if (!deadline.done.compareAndSet(false, true)) {
+                return;
+            }
+            deadline.expired = true;
+            logger.warn("Statement did not finish within {} {}, cancelling it", timeout, unit);
+            try {
+                statement.cancel();
+            } catch (SQLException e) {
+                logger.warn("Could not cancel statement", e);
+            }
+        }, timeout, unit);
+        return deadline;
+    }
+
+    /**
+     * A running execution deadline.
+     */
+    public static final class Deadline implements AutoCloseable {
+
+        private final AtomicBoolean done = new AtomicBoolean(false);
+        private volatile boolean expired = false;
+        private ScheduledFuture<?> future;
+
+        private Deadline() {
+        }
+
+        /**
+         * Returns whether the deadline expired and the statement was cancelled.
+         *
+         * @return true if the deadline expired
+         */
+        public boolean isExpired() {
+            return expired;
+        }
+
+        @Override
+        public void close() {
+            if (done.compareAndSet(false, true)) {
+                future.cancel(false);
+            }
+        }
+    }
+}
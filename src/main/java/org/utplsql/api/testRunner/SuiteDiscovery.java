@@ -0,0 +1,94 @@
+package org.utplsql.api.testRunner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.utplsql.api.Version;
+import org.utplsql.api.compatibility.OptionalFeatures;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Locale;
+import java.util.TreeSet;
+
+/**
+ * Expands run paths into the smallest units which can be run independently.
+ * <p>
+ * Paths naming a whole schema are replaced by the suite packages of that schema, as reported by
+ * ut_runner.get_suites_info. A name without dot is only treated as schema if such a user exists,
+ * otherwise it's a package of the current schema. All other paths (packages, procedures, suite paths) are kept
+ * as they are, and so are schemas without suites. On frameworks without get_suites_info schema paths are kept, too.
+ */
+public final class SuiteDiscovery {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteDiscovery.class);
+
+    private static final String SUITES_SQL =
+            "select distinct lower(object_owner || '.' || object_name) " +
+            "from table(ut_runner.get_suites_info(?)) " +
+            "where item_type = 'UT_SUITE'";
+
+    private static final String USER_EXISTS_SQL = "select 1 from all_users where username = ?";
+
+    private SuiteDiscovery() {
+    }
+
+    /**
+     * Returns the runnable units of the given paths, sorted and without duplicates,
+     * so every client computes the same list for the same database.
+     *
+     * @param conn             the connection
+     * @param paths            the run paths
+     * @param utPlsqlVersion   version of the framework
+     * @return sorted list of paths
+     * @throws SQLException any database error
+     */
+    public static List<String> discover(Connection conn, List<String> paths, Version utPlsqlVersion) throws SQLException {
+        boolean canExpand = OptionalFeatures.SUITES_INFO.isAvailableFor(utPlsqlVersion);
+        TreeSet<String> result = new TreeSet<>();
+
+        for (String path : paths) {
+            List<String> suites = (canExpand && isSchemaPath(path) && userExists(conn, path))
+                    ? getSuitePackages(conn, path)
+                    : Collections.emptyList();
+            if (!suites.isEmpty()) {
+                logger.debug("Schema {} has {} suite packages", path, suites.size());
+                result.addAll(suites);
+            } else {
+                result.add(path);
+            }
+        }
+
+        return new ArrayList<>(result);
+    }
+
+    static boolean isSchemaPath(String path) {
+        return path.indexOf('.') < 0 && path.indexOf(':') < 0;
+    }
+
+    private static boolean userExists(Connection conn, String name) throws SQLException {
+        try (PreparedStatement stmt = conn.prepareStatement(USER_EXISTS_SQL)) {
+            stmt.setString(1, name.toUpperCase(Locale.ROOT));
+            try (ResultSet rs = stmt.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static List<String> getSuitePackages(Connection conn, String schema) throws SQLException {
+        List<String> suites = new ArrayList<>();
+        try (PreparedStatement stmt = conn.prepareStatement(SUITES_SQL)) {
+            stmt.setString(1, schema.toUpperCase(Locale.ROOT));
+            try (ResultSet rs = stmt.executeQuery()) {
+                while (rs.next()) {
+                    suites.add(rs.getString(1));
+                }
+            }
+        }
+        return suites;
+    }
+}
@@ -0,0 +1,157 @@
+package org.utplsql.api.testRunner;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import javax.annotation.Nullable;
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Remembers how long suite paths took in earlier runs, stored in a local file with one "path TAB milliseconds" line per path.
+ * <p>
+ * The durations are measured per suite, see {@link RealtimeSuiteDurations}. New measurements are averaged with the
+ * stored value, so single outliers don't change the estimate too much.
+ */
+public final class SuiteDurationHistory {
+
+    private static final Logger logger = LoggerFactory.getLogger(SuiteDurationHistory.class);
+
+    static final long DEFAULT_DURATION_MILLIS = 1000;
+
+    private final Path file;
+    private final Map<String, Long> durations = new TreeMap<>();
+
+    private SuiteDurationHistory(Path file) {
+        this.file = file;
+    }
+
+    /**
+     * Loads the history from the given file. A missing or unreadable file gives an empty history.
+     *
+     * @param file the history file
+     * @return the history
+     */
+    public static SuiteDurationHistory load(Path file) {
+        SuiteDurationHistory history = new SuiteDurationHistory(file);
+        if (!Files.isRegularFile(file)) {
+            return history;
+        }
+
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                int tabPos = line.lastIndexOf('\t');
+                if (tabPos <= 0) {
+                    continue;
+                }
+                try {
+                    history.durations.put(line.substring(0, tabPos), Long.parseLong(line.substring(tabPos + 1)));
+                } catch (NumberFormatException e) {
+                    logger.debug("Ignoring invalid line in suite duration history: {}", line);
+                }
+            }
+        } catch (IOException e) {
+            logger.warn("Could not read suite duration history " + file, e);
+            history.durations.clear();
+        }
+        return history;
+    }
+
+    /**
+     * Creates an empty history, which replaces the given file when saved.
+     *
+     * @param file the history file
+     * @return the history
+     */
+    public static SuiteDurationHistory empty(Path file) {
+        return new SuiteDurationHistory(file);
+    }
+
+    /**
+     * Returns the recorded duration of a path.
+     *
+     * @param path the suite path
+     * @return duration in milliseconds or null if the path is unknown
+     */
+    @Nullable
+    public synchronized Long getDuration(String path) {
+        return durations.get(path);
+    }
+
+    /**
+     * Returns the expected duration of a path: the recorded duration, for unknown paths the average of all known paths.
+     *
+     * @param path the suite path
+     * @return expected duration in milliseconds
+     */
+    public synchronized long estimate(String path) {
+        Long duration = durations.get(path);
+        return (duration != null) ? duration : averageDuration();
+    }
+
+    private long averageDuration() {
+        if (durations.isEmpty()) {
+            return DEFAULT_DURATION_MILLIS;
+        }
+        long sum = 0;
+        for (long duration : durations.values()) {
+            sum += duration;
+        }
+        return Math.max(1, sum / durations.size());
+    }
+
+    /**
+     * Records the measured duration of a path.
+     *
+     * @param path           the suite path
+     * @param durationMillis the measured duration
+     */
+    public synchronized void record(String path, long durationMillis) {
+        Long previous = durations.get(path);
+        durations.put(path, (previous != null) ? (previous + durationMillis) / 2 : durationMillis);
+    }
+
+    /**
+     * Records all durations of the other history, e.g. to merge the measurements of several shards.
+     *
+     * @param other the history to merge
+     */
+    public void merge(SuiteDurationHistory other) {
+        Map<String, Long> otherDurations;
+        synchronized (other) {
+            otherDurations = new TreeMap<>(other.durations);
+        }
+        otherDurations.forEach(this::record);
+    }
+
+    /**
+     * Writes the history back to its file.
+     *
+     * @throws IOException if the file can't be written
+     */
+    public synchronized void save() throws IOException {
+        Path parent = file.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+
+        Path tempFile = file.resolveSibling(file.getFileName() + ".tmp");
+        try (BufferedWriter writer = Files.newBufferedWriter(tempFile, StandardCharsets.UTF_8)) {
+            for (Map.Entry<String, Long> entry : durations.entrySet()) {
+                writer.write(entry.getKey());
+                writer.write('\t');
+                writer.write(Long.toString(entry.getValue()));
+                writer.newLine();
+            }
+        }
+        Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING);
+    }
+}
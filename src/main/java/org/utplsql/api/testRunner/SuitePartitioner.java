@@ -0,0 +1,130 @@
+package org.utplsql.api.testRunner;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.ToLongFunction;
+
+/**
+ * Splits a list of suite paths into shards which can be run independently of each other
+ */
+public final class SuitePartitioner {
+
+    private SuitePartitioner() {
+    }
+
+    /**
+     * Distributes the given paths round-robin over at most shardCount shards, keeping the original order inside each shard.
+     * No empty shards are returned, so the result might contain less shards than requested.
+     *
+     * @param paths      the suite paths to distribute
+     * @param shardCount the maximum number of shards
+     * @return list of shards, each being a non-empty list of paths
+     */
+    public static List<List<String>> roundRobin(List<String> paths, int shardCount) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1 but was " + shardCount);
+        }
+
+        int effectiveShardCount = Math.min(shardCount, paths.size());
+        List<List<String>> shards = new ArrayList<>(effectiveShardCount);
+        for (int i = 0; i < effectiveShardCount; i++) {
+            shards.add(new ArrayList<>());
+        }
+
+        for (int i = 0; i < paths.size(); i++) {
+            shards.get(i % effectiveShardCount).add(paths.get(i));
+        }
+
+        return shards;
+    }
+
+    /**
+     * Distributes the given paths over at most shardCount shards by longest-processing-time-first:
+     * the paths are taken in order of descending expected duration and each one goes to the shard with the least
+     * expected duration so far. This keeps the duration of the longest shard close to the optimum.
+     * No empty shards are returned, paths with equal duration keep their original order.
+     *
+     * @param paths      the suite paths to distribute
+     * @param shardCount the maximum number of shards
+     * @param durations  the expected duration of a path, e.g. {@link SuiteDurationHistory#estimate(String)}
+     * @return list of shards, each being a non-empty list of paths
+     */
+    public static List<List<String>> longestProcessingTimeFirst(List<String> paths, int shardCount, ToLongFunction<String> durations) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1 but was " + shardCount);
+        }
+
+        List<String> sortedPaths = new ArrayList<>(paths);
+        sortedPaths.sort(Comparator.comparingLong(durations).reversed());
+
+        int effectiveShardCount = Math.min(shardCount, paths.size());
+        List<List<String>> shards = new ArrayList<>(effectiveShardCount);
+        long[] loads = new long[effectiveShardCount];
+        // Least loaded shard first, lower index on equal load
+        PriorityQueue<Integer> queue = new PriorityQueue<>(Math.max(effectiveShardCount, 1),
+                Comparator.<Integer>comparingLong(i -> loads[i]).thenComparingInt(i -> i));
+        for (int i = 0; i < effectiveShardCount; i++) {
+            shards.add(new ArrayList<>());
+            queue.add(i);
+        }
+
+        for (String path : sortedPaths) {
+            int shard = queue.poll();
+            shards.get(shard).add(path);
+            loads[shard] += durations.applyAsLong(path);
+            queue.add(shard);
+        }
+
+        return shards;
+    }
+
+    /**
+     * Returns the paths belonging to one of shardCount shards, for clients which each run one shard without coordination.
+     * The result only depends on the given arguments, so all clients compute disjoint slices covering all paths.
+     * <p>
+     * Without durations every path is assigned by a stable hash of its name, so adding or removing a path doesn't move
+     * the others. With durations the sorted paths are distributed by {@link #longestProcessingTimeFirst}.
+     *
+     * @param paths      the suite paths, in the same order on all clients
+     * @param shardIndex the index of the shard, starting with 0
+     * @param shardCount the number of shards
+     * @param durations  expected durations of the paths or null for hash assignment
+     * @return the paths of the shard, might be empty
+     */
+    public static List<String> slice(List<String> paths, int shardIndex, int shardCount, @Nullable ToLongFunction<String> durations) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("shardCount must be at least 1 but was " + shardCount);
+        }
+        if (shardIndex < 0 || shardIndex >= shardCount) {
+            throw new IllegalArgumentException("shardIndex must be between 0 and " + (shardCount - 1) + " but was " + shardIndex);
+        }
+
+        if (durations != null) {
+            List<List<String>> shards = longestProcessingTimeFirst(paths, shardCount, durations);
+            return (shardIndex < shards.size()) ? shards.get(shardIndex) : Collections.emptyList();
+        }
+
+        List<String> slice = new ArrayList<>();
+        for (String path : paths) {
+            if (Math.floorMod(stableHash(path), shardCount) == shardIndex) {
+                slice.add(path);
+            }
+        }
+        return slice;
+    }
+
+    /* String.hashCode is specified, so it's equal on every JVM. The mixing spreads similar names over the shards */
+    private static int stableHash(String path) {
+        int h = path.hashCode();
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+}
@@ -1,6 +1,7 @@
 package org.utplsql.api.testRunner;
 
 import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
 
 /**
  * Interface to hide the concrete Statement-implementations of TestRunner
@@ -13,6 +14,15 @@ public interface TestRunnerStatement extends AutoCloseable {
 
     String getSql();
 
+    /**
+     * Cancels the running execution from another thread.
+     *
+     * @throws SQLException if the statement can't be cancelled
+     */
+    default void cancel() throws SQLException {
+        throw new SQLFeatureNotSupportedException("Cancelling is not supported by " + getClass().getSimpleName());
+    }
+
     @Override
     void close() throws SQLException;
 }
@@ -3,9 +3,12 @@ package org.utplsql.api;
 import org.junit.jupiter.api.Test;
 import org.utplsql.api.db.DatabaseInformation;
 import org.utplsql.api.db.DefaultDatabaseInformation;
+import org.utplsql.api.db.SessionBootstrap;
 
 import java.sql.SQLException;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
@@ -27,4 +30,24 @@ class DatabaseInformationIT extends AbstractDatabaseTest {
         String databaseVersion = databaseInformation.getOracleVersion(getConnection());
         assertNotNull(databaseVersion);
     }
+
+    @Test
+    void getSessionBootstrap() throws SQLException {
+        DatabaseInformation databaseInformation = new DefaultDatabaseInformation();
+
+        SessionBootstrap bootstrap = databaseInformation.getSessionBootstrap(getConnection(), "3");
+        assertEquals(databaseInformation.getUtPlsqlFrameworkVersion(getConnection()), bootstrap.getFrameworkVersion());
+        assertEquals(databaseInformation.getCurrentSchema(getConnection()), bootstrap.getCurrentSchema());
+        assertEquals(Integer.valueOf(1), bootstrap.getCompatibilityCheckResult());
+    }
+
+    @Test
+    void getSessionBootstrapWithoutCompatibilityCheck() throws SQLException {
+        DatabaseInformation databaseInformation = new DefaultDatabaseInformation();
+
+        SessionBootstrap bootstrap = databaseInformation.getSessionBootstrap(getConnection(), "3", false);
+        assertEquals(databaseInformation.getUtPlsqlFrameworkVersion(getConnection()), bootstrap.getFrameworkVersion());
+        assertNull(bootstrap.getCompatibilityCheckResult());
+        assertEquals(0, bootstrap.getCompatibilityCheckErrorCode());
+    }
 }
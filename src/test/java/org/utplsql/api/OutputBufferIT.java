@@ -14,6 +14,7 @@ import java.io.PrintStream;
 import java.nio.charset.Charset;
 import java.sql.SQLException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.concurrent.*;
 
@@ -100,6 +101,19 @@ class OutputBufferIT extends AbstractDatabaseTest {
         }
     }
 
+    @Test
+    void drainLinesWhileRunning() throws SQLException {
+        List<String> outputLines = Collections.synchronizedList(new ArrayList<>());
+
+        new TestRunner()
+                .addPath(getUser())
+                .addReporter(createReporter())
+                .drainOutput(this::newConnection, reporter -> outputLines::add)
+                .run(getConnection());
+
+        assertThat(outputLines, not(emptyIterable()));
+    }
+
     @Test
     void fetchAllLines() throws SQLException {
         final Reporter reporter = createReporter();
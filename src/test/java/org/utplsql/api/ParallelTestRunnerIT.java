@@ -0,0 +1,62 @@
+package org.utplsql.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.utplsql.api.reporter.CoreReporters;
+import org.utplsql.api.testRunner.SuiteDurationHistory;
+
+import java.nio.file.Path;
+import java.sql.SQLException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.emptyIterable;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+
+/**
+ * Integration-test for ParallelTestRunner
+ */
+class ParallelTestRunnerIT extends AbstractDatabaseTest {
+
+    @Test
+    void runShardsAndMergeOutput() throws SQLException {
+        ParallelRunResult result = new ParallelTestRunner(this::newConnection, 2)
+                .addPath(getUser() + ".test_betwnstr")
+                .addPath(getUser() + ".test_award_bonus")
+                .addReporter(CoreReporters.UT_DOCUMENTATION_REPORTER.name())
+                .run();
+
+        assertThat(result.getReporterOutput(CoreReporters.UT_DOCUMENTATION_REPORTER.name()), not(emptyIterable()));
+        assertFalse(result.hasFailedTests());
+    }
+
+    @Test
+    void runCurrentSchemaInShards() throws SQLException {
+        ParallelRunResult result = new ParallelTestRunner(this::newConnection, 2)
+                .addReporter(CoreReporters.UT_DOCUMENTATION_REPORTER.name())
+                .run();
+
+        assertThat(result.getReporterOutput(CoreReporters.UT_DOCUMENTATION_REPORTER.name()), not(emptyIterable()));
+    }
+
+    @Test
+    void recordsDurationOfEverySuite(@TempDir Path directory) throws SQLException {
+        Path historyFile = directory.resolve("durations");
+        String betwnstr = getUser() + ".test_betwnstr";
+        String awardBonus = getUser() + ".test_award_bonus";
+
+        ParallelRunResult result = new ParallelTestRunner(this::newConnection, 2)
+                .addPath(betwnstr)
+                .addPath(awardBonus)
+                .addReporter(CoreReporters.UT_DOCUMENTATION_REPORTER.name())
+                .durationHistory(historyFile)
+                .run();
+
+        SuiteDurationHistory history = SuiteDurationHistory.load(historyFile);
+        assertNotNull(history.getDuration(betwnstr));
+        assertNotNull(history.getDuration(awardBonus));
+        // The internal realtime reporter is not part of the result
+        assertThat(result.getReporterOutput(CoreReporters.UT_REALTIME_REPORTER.name()), emptyIterable());
+    }
+}
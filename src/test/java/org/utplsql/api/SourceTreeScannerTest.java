@@ -0,0 +1,96 @@
+package org.utplsql.api;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SourceTreeScannerTest {
+
+    @TempDir
+    Path root;
+
+    private String path(String... parts) {
+        return String.join(root.getFileSystem().getSeparator(), parts);
+    }
+
+    private void createFile(String... parts) throws IOException {
+        Path file = root.resolve(path(parts));
+        Files.createDirectories(file.getParent());
+        Files.createFile(file);
+    }
+
+    @BeforeEach
+    void createTree() throws IOException {
+        createFile("source", "award_bonus.prc");
+        createFile("source", "betwnstr.FNC");
+        createFile("source", "packages", "app.pks");
+        createFile("source", "packages", "app.pkb");
+        createFile("source", "readme.md");
+        createFile("test", "test_award_bonus.pks");
+        createFile("target", "generated.pks");
+    }
+
+    @Test
+    void scansAllFiles() throws IOException {
+        List<String> files = new SourceTreeScanner(root).scan();
+
+        assertEquals(7, files.size());
+    }
+
+    @Test
+    void appliesGlobsAndExtensions() throws IOException {
+        FileMapperOptions options = new SourceTreeScanner(root)
+                .include("source/**")
+                .include("test/**")
+                .exclude("source/packages/*.pkb")
+                .extensions("prc", "fnc", "pks")
+                .parallelism(2)
+                .toFileMapperOptions();
+
+        assertEquals(Arrays.asList(
+                path("source", "award_bonus.prc"),
+                path("source", "betwnstr.FNC"),
+                path("source", "packages", "app.pks"),
+                path("test", "test_award_bonus.pks")),
+                options.getFilePaths());
+    }
+
+    @Test
+    void excludedDirectoriesAreSkipped() throws IOException {
+        List<String> files = new SourceTreeScanner(root)
+                .exclude("source")
+                .exclude("target")
+                .scan();
+
+        assertEquals(Arrays.asList(path("test", "test_award_bonus.pks")), files);
+    }
+
+    @Test
+    void reusesIndexForUnchangedDirectories() throws IOException {
+        Path indexFile = root.resolve("target").resolve("scan.idx");
+        Path testDir = root.resolve("test");
+        FileTime modified = FileTime.fromMillis(Files.getLastModifiedTime(testDir).toMillis() - 60_000);
+        Files.setLastModifiedTime(testDir, modified);
+
+        List<String> firstScan = new SourceTreeScanner(root).include("test/**").indexFile(indexFile).scan();
+
+        // A new file without a changed directory timestamp is only seen if the directory is listed again
+        Files.createFile(testDir.resolve("test_betwnstr.pks"));
+        Files.setLastModifiedTime(testDir, modified);
+
+        assertEquals(firstScan, new SourceTreeScanner(root).include("test/**").indexFile(indexFile).scan());
+        assertEquals(2, new SourceTreeScanner(root).include("test/**").scan().size());
+
+        Files.setLastModifiedTime(testDir, FileTime.fromMillis(modified.toMillis() + 1000));
+        assertEquals(2, new SourceTreeScanner(root).include("test/**").indexFile(indexFile).scan().size());
+    }
+}
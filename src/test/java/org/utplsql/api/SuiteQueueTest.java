@@ -0,0 +1,226 @@
+package org.utplsql.api;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.utplsql.api.testRunner.SuiteDurationHistory;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.anyInt;
+
+class SuiteQueueTest {
+
+    private static final List<String> SUITES = Arrays.asList("app.test_a", "app.test_b", "app.test_c", "app.test_d", "app.test_e");
+
+    @TempDir
+    Path directory;
+
+    private static InetSocketAddress addressOf(SuiteQueueCoordinator coordinator) {
+        return new InetSocketAddress(InetAddress.getLoopbackAddress(), coordinator.getPort());
+    }
+
+    private static Connection validConnection(boolean valid) throws SQLException {
+        Connection conn = mock(Connection.class);
+        doReturn(valid).when(conn).isValid(anyInt());
+        return conn;
+    }
+
+    private static SuiteQueueProtocol.SuiteResult result(String path, boolean testsFailed) {
+        Map<String, List<String>> outputs = new LinkedHashMap<>();
+        outputs.put("UT_DOCUMENTATION_REPORTER", Collections.singletonList(path));
+        return new SuiteQueueProtocol.SuiteResult(path, testsFailed, 10, null, outputs);
+    }
+
+    @Test
+    void workersShareTheQueue() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+        try (SuiteQueueCoordinator coordinator = new SuiteQueueCoordinator(SUITES).start(0)) {
+            SuiteQueueWorker.SuiteRunner runner = (conn, path) -> {
+                try {
+                    Thread.sleep(20);
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                return result(path, path.equals("app.test_c"));
+            };
+
+            List<Future<Integer>> workers = new ArrayList<>();
+            for (int i = 0; i < 2; i++) {
+                workers.add(executor.submit(() ->
+                        new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(true), runner).run()));
+            }
+
+            ParallelRunResult result = coordinator.awaitCompletion(10, TimeUnit.SECONDS);
+
+            assertEquals(SUITES, result.getReporterOutput("ut_documentation_reporter"));
+            assertTrue(result.hasFailedTests());
+            assertEquals(SUITES.size(), workers.get(0).get(10, TimeUnit.SECONDS) + workers.get(1).get(10, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    void suitesOfBrokenWorkersAreRequeued() throws Exception {
+        try (SuiteQueueCoordinator coordinator = new SuiteQueueCoordinator(SUITES).start(0)) {
+            SuiteQueueWorker brokenWorker = new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(false),
+                    (conn, path) -> {
+                        throw new SQLException("ORA-03113: end-of-file on communication channel");
+                    });
+            assertThrows(SQLException.class, brokenWorker::run);
+
+            int suiteCount = new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(true),
+                    (conn, path) -> result(path, false)).run();
+
+            ParallelRunResult result = coordinator.awaitCompletion(10, TimeUnit.SECONDS);
+            assertEquals(SUITES.size(), suiteCount);
+            assertEquals(SUITES, result.getReporterOutput("UT_DOCUMENTATION_REPORTER"));
+            assertFalse(result.hasFailedTests());
+        }
+    }
+
+    @Test
+    void suitesBreakingEveryWorkerFailAfterMaxAttempts() throws Exception {
+        try (SuiteQueueCoordinator coordinator = new SuiteQueueCoordinator(SUITES).maxAttempts(2).start(0)) {
+            SuiteQueueWorker.SuiteRunner runner = (conn, path) -> {
+                if (path.equals("app.test_c")) {
+                    throw new SQLException("ORA-00600: internal error code");
+                }
+                return result(path, false);
+            };
+            assertThrows(SQLException.class,
+                    new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(false), runner)::run);
+            assertThrows(SQLException.class,
+                    new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(false), runner)::run);
+
+            int suiteCount = new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(false), runner).run();
+
+            assertEquals(2, suiteCount);
+            SQLException e = assertThrows(SQLException.class, () -> coordinator.awaitCompletion(10, TimeUnit.SECONDS));
+            assertThat(e.getMessage(), containsString("app.test_c"));
+            assertThat(e.getMessage(), containsString("2 times"));
+        }
+    }
+
+    @Test
+    void oversizedOutputIsReportedAsError() throws Exception {
+        char[] hugeLine = new char[SuiteQueueProtocol.MAX_FRAME_SIZE + 1];
+        Arrays.fill(hugeLine, 'x');
+
+        try (SuiteQueueCoordinator coordinator = new SuiteQueueCoordinator(SUITES).start(0)) {
+            int suiteCount = new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(true), (conn, path) -> {
+                if (!path.equals("app.test_b")) {
+                    return result(path, false);
+                }
+                Map<String, List<String>> outputs = new LinkedHashMap<>();
+                outputs.put("UT_COVERAGE_HTML_REPORTER", Collections.singletonList(new String(hugeLine)));
+                return new SuiteQueueProtocol.SuiteResult(path, false, 10, null, outputs);
+            }).run();
+
+            assertEquals(SUITES.size(), suiteCount);
+            SQLException e = assertThrows(SQLException.class, () -> coordinator.awaitCompletion(10, TimeUnit.SECONDS));
+            assertThat(e.getMessage(), containsString("app.test_b"));
+            assertThat(e.getMessage(), containsString("exceeds the limit"));
+        }
+    }
+
+    @Test
+    void rejectsLineCountsExceedingPayload() throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        byte[] path = "app.test_a".getBytes(StandardCharsets.UTF_8);
+        out.writeInt(path.length);
+        out.write(path);
+        out.writeBoolean(false);
+        out.writeLong(10);
+        out.writeInt(-1);
+        out.writeInt(1);
+        out.writeInt(-1);
+        out.writeInt(Integer.MAX_VALUE);
+        out.flush();
+
+        IOException e = assertThrows(IOException.class, () -> SuiteQueueProtocol.decodeResult(bytes.toByteArray()));
+        assertThat(e.getMessage(), containsString("exceeds frame"));
+    }
+
+    @Test
+    void suiteErrorsAreReported() throws Exception {
+        try (SuiteQueueCoordinator coordinator = new SuiteQueueCoordinator(SUITES).start(0)) {
+            new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(true), (conn, path) -> {
+                if (path.equals("app.test_b")) {
+                    throw new SQLException("ORA-04063: package body has errors");
+                }
+                return result(path, false);
+            }).run();
+
+            SQLException e = assertThrows(SQLException.class, () -> coordinator.awaitCompletion(10, TimeUnit.SECONDS));
+            assertThat(e.getMessage(), containsString("app.test_b"));
+            assertThat(e.getMessage(), containsString("ORA-04063"));
+        }
+    }
+
+    @Test
+    void longestSuitesFirst() throws Exception {
+        Path historyFile = directory.resolve("durations");
+        SuiteDurationHistory history = SuiteDurationHistory.load(historyFile);
+        history.record("app.test_a", 100);
+        history.record("app.test_b", 300);
+        history.record("app.test_c", 200);
+        history.save();
+
+        List<String> handedOut = new ArrayList<>();
+        try (SuiteQueueCoordinator coordinator = new SuiteQueueCoordinator(Arrays.asList("app.test_a", "app.test_b", "app.test_c"))
+                .durationHistory(historyFile)
+                .start(0)) {
+            new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(true), (conn, path) -> {
+                handedOut.add(path);
+                return result(path, false);
+            }).run();
+
+            coordinator.awaitCompletion(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(Arrays.asList("app.test_b", "app.test_c", "app.test_a"), handedOut);
+        Long recorded = SuiteDurationHistory.load(historyFile).getDuration("app.test_b");
+        assertNotNull(recorded);
+        assertEquals((300 + 10) / 2, (long) recorded);
+    }
+
+    @Test
+    void emptyQueueFinishesImmediately() throws Exception {
+        try (SuiteQueueCoordinator coordinator = new SuiteQueueCoordinator(Collections.emptyList()).start(0)) {
+            int suiteCount = new SuiteQueueWorker(addressOf(coordinator), () -> validConnection(true),
+                    (conn, path) -> result(path, false)).run();
+
+            assertEquals(0, suiteCount);
+            assertTrue(coordinator.awaitCompletion(1, TimeUnit.SECONDS).getReporterOutputs().isEmpty());
+        }
+    }
+}
@@ -11,9 +11,18 @@ import org.utplsql.api.exception.SomeTestsFailedException;
 import org.utplsql.api.reporter.CoreReporters;
 
 import java.sql.Connection;
+import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Collections;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
 
-import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.*;
 
 /**
  * Integration-test for TestRunner
@@ -95,4 +104,94 @@ class TestRunnerIT extends AbstractDatabaseTest {
                 .run(getConnection());
     }
 
+    @Test
+    void runAsync() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            RunResult result = new TestRunner()
+                    .addPath(getUser())
+                    .runAsync(this::newConnection, executor)
+                    .get(1, TimeUnit.MINUTES);
+
+            assertNotNull(result.getUsedDatabaseVersion());
+            assertEquals(1, result.getReporters().size());
+            assertFalse(result.hasFailedTests());
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void cancelAsyncRunBeforeStart() throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        CountDownLatch blocker = new CountDownLatch(1);
+        try {
+            executor.execute(() -> {
+                try {
+                    blocker.await();
+                } catch (InterruptedException ignored) {
+                }
+            });
+
+            CompletableFuture<RunResult> future = new TestRunner()
+                    .runAsync(this::newConnection, executor);
+            assertTrue(future.cancel(true));
+            blocker.countDown();
+
+            assertThrows(CancellationException.class, future::join);
+        } finally {
+            executor.shutdown();
+        }
+    }
+
+    @Test
+    void runShards() throws SQLException {
+        int skippedShards = 0;
+        for (int i = 0; i < 2; i++) {
+            TestRunner testRunner = new TestRunner()
+                    .addPath(getUser())
+                    .shard(i, 2);
+            testRunner.run(getConnection());
+
+            assertEquals(Collections.singletonList(getUser()), testRunner.getOptions().pathList);
+            if (testRunner.isSkipped()) {
+                skippedShards++;
+            }
+        }
+        assertTrue(skippedShards < 2);
+    }
+
+    @Test
+    void runWithListTable() throws SQLException {
+        Connection conn = getConnection();
+        try (Statement stmt = conn.createStatement()) {
+            stmt.execute("create global temporary table ut_client_list (" +
+                    "list_name varchar2(128), seq number, item varchar2(4000)) on commit preserve rows");
+        }
+        try {
+            new TestRunner()
+                    .addPath(getUser())
+                    .includeObject("app.award_bonus")
+                    .includeObject("app.betwnstr")
+                    .listTable("ut_client_list", 1)
+                    .run(conn);
+
+            try (Statement stmt = conn.createStatement();
+                 ResultSet rs = stmt.executeQuery("select count(*) from ut_client_list")) {
+                assertTrue(rs.next());
+                assertEquals(0, rs.getInt(1));
+            }
+        } finally {
+            try (Statement stmt = conn.createStatement()) {
+                stmt.execute("truncate table ut_client_list");
+                stmt.execute("drop table ut_client_list");
+            }
+        }
+    }
+
+    @Test
+    void listTableNeedsPositiveThreshold() {
+        assertThrows(IllegalArgumentException.class, () -> new TestRunner().listTable("ut_client_list", 0));
+    }
+
 }
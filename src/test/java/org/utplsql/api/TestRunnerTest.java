@@ -0,0 +1,71 @@
+package org.utplsql.api;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.testRunner.TestRunnerStatement;
+
+import java.sql.SQLException;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+class TestRunnerTest {
+
+    private final TestRunner testRunner = new TestRunner();
+    private final TestRunner.RunHandle runHandle = new TestRunner.RunHandle();
+
+    @Test
+    void does_not_execute_cancelled_run() throws SQLException {
+        TestRunnerStatement statement = mock(TestRunnerStatement.class);
+        runHandle.cancel();
+
+        SQLException e = assertThrows(SQLException.class, () -> testRunner.executeUnlessCancelled(statement, runHandle));
+
+        assertThat(e.getMessage(), containsString("cancelled"));
+        verify(statement, never()).execute();
+    }
+
+    @Test
+    void reports_cancel_during_execution_although_statement_returned() throws SQLException {
+        TestRunnerStatement statement = mock(TestRunnerStatement.class);
+        doAnswer(invocation -> {
+            // The cancel reaches the database before the statement, so it has no effect there
+            runHandle.cancel();
+            return null;
+        }).when(statement).execute();
+
+        SQLException e = assertThrows(SQLException.class, () -> testRunner.executeUnlessCancelled(statement, runHandle));
+
+        assertThat(e.getMessage(), containsString("cancelled"));
+    }
+
+    @Test
+    void reports_cancel_during_execution_with_database_error_as_cause() throws SQLException {
+        TestRunnerStatement statement = mock(TestRunnerStatement.class);
+        SQLException userRequestedCancel = new SQLException("ORA-01013: user requested cancel of current operation", "72000", 1013);
+        doAnswer(invocation -> {
+            runHandle.cancel();
+            throw userRequestedCancel;
+        }).when(statement).execute();
+
+        SQLException e = assertThrows(SQLException.class, () -> testRunner.executeUnlessCancelled(statement, runHandle));
+
+        assertThat(e.getMessage(), containsString("cancelled"));
+        assertSame(userRequestedCancel, e.getCause());
+    }
+
+    @Test
+    void passes_errors_of_runs_which_were_not_cancelled() throws SQLException {
+        TestRunnerStatement statement = mock(TestRunnerStatement.class);
+        SQLException error = new SQLException("ORA-06550: line 1, column 7");
+        doThrow(error).when(statement).execute();
+
+        assertSame(error, assertThrows(SQLException.class, () -> testRunner.executeUnlessCancelled(statement, runHandle)));
+    }
+}
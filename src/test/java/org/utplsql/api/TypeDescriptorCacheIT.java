@@ -0,0 +1,37 @@
+package org.utplsql.api;
+
+import oracle.jdbc.OracleConnection;
+import oracle.sql.ARRAY;
+import oracle.sql.STRUCT;
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+/**
+ * Checks that the driver caches the descriptors of the utPLSQL types per connection,
+ * so arrays and structs can be created with createOracleArray and createStruct without a cache of our own.
+ */
+class TypeDescriptorCacheIT extends AbstractDatabaseTest {
+
+    @Test
+    void reusesArrayDescriptor() throws SQLException {
+        OracleConnection conn = getConnection().unwrap(OracleConnection.class);
+
+        ARRAY first = (ARRAY) conn.createOracleArray(CustomTypes.UT_VARCHAR2_LIST, new String[]{"a"});
+        ARRAY second = (ARRAY) conn.createOracleArray(CustomTypes.UT_VARCHAR2_LIST, new String[]{"b"});
+
+        assertSame(first.getDescriptor(), second.getDescriptor());
+    }
+
+    @Test
+    void reusesStructDescriptor() throws SQLException {
+        OracleConnection conn = getConnection().unwrap(OracleConnection.class);
+
+        STRUCT first = (STRUCT) conn.createStruct(CustomTypes.UT_KEY_VALUE_PAIR, new Object[]{"a", "1"});
+        STRUCT second = (STRUCT) conn.createStruct(CustomTypes.UT_KEY_VALUE_PAIR, new Object[]{"b", "2"});
+
+        assertSame(first.getDescriptor(), second.getDescriptor());
+    }
+}
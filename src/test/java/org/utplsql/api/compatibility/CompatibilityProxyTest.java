@@ -0,0 +1,45 @@
+package org.utplsql.api.compatibility;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.Version;
+import org.utplsql.api.db.SessionBootstrap;
+import org.utplsql.api.exception.DatabaseNotCompatibleException;
+
+import java.sql.SQLException;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class CompatibilityProxyTest {
+
+    @Test
+    void uses_compatibility_check_of_bootstrap() throws SQLException {
+        assertTrue(new CompatibilityProxy(new SessionBootstrap(Version.V3_1_7, "APP", 1, 0, null), null).isCompatible());
+        assertFalse(new CompatibilityProxy(new SessionBootstrap(Version.V3_1_7, "APP", 0, 0, null), null).isCompatible());
+        assertFalse(new CompatibilityProxy(new SessionBootstrap(Version.V3_1_7, "APP", null, 6550, "ORA-06550"), null).isCompatible());
+    }
+
+    @Test
+    void fails_on_compatibility_check_error() {
+        SessionBootstrap bootstrap = new SessionBootstrap(Version.V3_1_7, "APP", null, 1031, "ORA-01031: insufficient privileges");
+
+        assertThrows(DatabaseNotCompatibleException.class, () -> new CompatibilityProxy(bootstrap, null));
+    }
+
+    @Test
+    void checks_old_versions_without_database() throws SQLException {
+        SessionBootstrap bootstrap = new SessionBootstrap(Version.V3_0_2, "APP", null, 6550, "ORA-06550");
+
+        CompatibilityProxy proxy = new CompatibilityProxy(bootstrap, null);
+        assertTrue(proxy.isCompatible());
+        assertEquals(Version.V3_0_2, proxy.getUtPlsqlVersion());
+    }
+
+    @Test
+    void assumes_given_version() throws SQLException {
+        CompatibilityProxy proxy = new CompatibilityProxy(new SessionBootstrap(Version.V3_1_7, "APP", 0, 0, null), Version.LATEST);
+
+        assertTrue(proxy.isCompatible());
+        assertEquals(Version.LATEST, proxy.getUtPlsqlVersion());
+        assertEquals(Version.V3_1_7, proxy.getRealDbPlsqlVersion());
+    }
+}
@@ -0,0 +1,155 @@
+package org.utplsql.api.db;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.Version;
+
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+class CachedDatabaseInformationTest {
+
+    private DatabaseInformation delegate;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        delegate = mock(DatabaseInformation.class);
+        when(delegate.getUtPlsqlFrameworkVersion(any())).thenReturn(Version.V3_1_7);
+        when(delegate.getCurrentSchema(any())).thenReturn("APP");
+    }
+
+    private Connection connection(String url, String user) throws SQLException {
+        return connection(url, user, user);
+    }
+
+    private Connection connection(String url, String user, String currentSchema) throws SQLException {
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getURL()).thenReturn(url);
+        when(metaData.getUserName()).thenReturn(user);
+        Connection conn = mock(Connection.class);
+        when(conn.getMetaData()).thenReturn(metaData);
+        when(conn.getSchema()).thenReturn(currentSchema);
+        return conn;
+    }
+
+    @Test
+    void caches_per_database_and_schema() throws SQLException {
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn1 = connection("jdbc:oracle:thin:@db:1521/xe", "app");
+        Connection conn2 = connection("jdbc:oracle:thin:@db:1521/xe", "APP");
+        Connection other = connection("jdbc:oracle:thin:@db:1521/xe", "other");
+
+        assertEquals(Version.V3_1_7, cache.getUtPlsqlFrameworkVersion(conn1));
+        assertEquals(Version.V3_1_7, cache.getUtPlsqlFrameworkVersion(conn2));
+        verify(delegate, times(1)).getUtPlsqlFrameworkVersion(any());
+
+        cache.getUtPlsqlFrameworkVersion(other);
+        verify(delegate, times(2)).getUtPlsqlFrameworkVersion(any());
+    }
+
+    @Test
+    void caches_per_current_schema() throws SQLException {
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn1 = connection("jdbc:oracle:thin:@db:1521/xe", "app", "app");
+        Connection conn2 = connection("jdbc:oracle:thin:@db:1521/xe", "app", "ut3_other");
+
+        cache.getUtPlsqlFrameworkVersion(conn1);
+        cache.getUtPlsqlFrameworkVersion(conn2);
+
+        verify(delegate, times(2)).getUtPlsqlFrameworkVersion(any());
+    }
+
+    @Test
+    void hit_does_not_query_connection() throws SQLException {
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn = connection("jdbc:oracle:thin:@db:1521/xe", "app");
+
+        cache.getUtPlsqlFrameworkVersion(conn);
+        cache.getUtPlsqlFrameworkVersion(conn);
+        cache.frameworkCompatibilityCheck(conn, "3", null);
+        cache.frameworkCompatibilityCheck(conn, "3", null);
+
+        verify(conn, times(1)).getSchema();
+        verify(conn, never()).createStatement();
+        verify(conn, never()).prepareStatement(anyString());
+        verify(conn, never()).prepareCall(anyString());
+        verify(delegate, times(1)).getUtPlsqlFrameworkVersion(conn);
+        verify(delegate, times(1)).frameworkCompatibilityCheck(conn, "3", null);
+    }
+
+    @Test
+    void bootstrap_refreshes_current_schema_of_connection() throws SQLException {
+        when(delegate.getSessionBootstrap(any(), eq("3"), eq(true))).thenReturn(new SessionBootstrap(Version.V3_1_8, "OTHER", 1, 0, null));
+        when(delegate.getCurrentSchema(any())).thenReturn("OTHER");
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn = connection("jdbc:oracle:thin:@db:1521/xe", "app", "app");
+
+        assertEquals(Version.V3_1_7, cache.getUtPlsqlFrameworkVersion(conn));
+        // The session switched to another schema, which the bootstrap of the next run reads
+        cache.getSessionBootstrap(conn, "3");
+
+        assertEquals(Version.V3_1_8, cache.getUtPlsqlFrameworkVersion(conn));
+        verify(delegate, times(1)).getUtPlsqlFrameworkVersion(any());
+    }
+
+    @Test
+    void does_not_cache_current_schema() throws SQLException {
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn = connection("jdbc:oracle:thin:@db:1521/xe", "app");
+
+        cache.getCurrentSchema(conn);
+        cache.getCurrentSchema(conn);
+
+        verify(delegate, times(2)).getCurrentSchema(conn);
+    }
+
+    @Test
+    void reloads_after_invalidation_and_expiry() throws SQLException {
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn = connection("jdbc:oracle:thin:@db:1521/xe", "app");
+
+        cache.getUtPlsqlFrameworkVersion(conn);
+        cache.invalidate(conn);
+        cache.getUtPlsqlFrameworkVersion(conn);
+        verify(delegate, times(2)).getUtPlsqlFrameworkVersion(conn);
+
+        CachedDatabaseInformation expiring = new CachedDatabaseInformation(delegate, Duration.ZERO);
+        expiring.getUtPlsqlFrameworkVersion(conn);
+        expiring.getUtPlsqlFrameworkVersion(conn);
+        verify(delegate, times(4)).getUtPlsqlFrameworkVersion(conn);
+    }
+
+    @Test
+    void does_not_cache_without_connection_identity() throws SQLException {
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn = mock(Connection.class);
+
+        cache.getUtPlsqlFrameworkVersion(conn);
+        cache.getUtPlsqlFrameworkVersion(conn);
+
+        verify(delegate, times(2)).getUtPlsqlFrameworkVersion(conn);
+    }
+
+    @Test
+    void caches_bootstrap_except_current_schema() throws SQLException {
+        when(delegate.getSessionBootstrap(any(), eq("3"), eq(true))).thenReturn(new SessionBootstrap(Version.V3_1_7, "APP", 1, 0, null));
+        when(delegate.getCurrentSchema(any())).thenReturn("OTHER");
+        CachedDatabaseInformation cache = new CachedDatabaseInformation(delegate, Duration.ofMinutes(1));
+        Connection conn = connection("jdbc:oracle:thin:@db:1521/xe", "app", "other");
+
+        assertEquals("APP", cache.getSessionBootstrap(conn, "3").getCurrentSchema());
+        SessionBootstrap cached = cache.getSessionBootstrap(conn, "3");
+
+        assertEquals("OTHER", cached.getCurrentSchema());
+        assertEquals(Version.V3_1_7, cached.getFrameworkVersion());
+        assertEquals(Version.V3_1_7, cache.getUtPlsqlFrameworkVersion(conn));
+        verify(delegate, times(1)).getSessionBootstrap(any(), any(), anyBoolean());
+        verify(delegate, never()).getUtPlsqlFrameworkVersion(any());
+    }
+}
@@ -5,9 +5,13 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
 import java.sql.CallableStatement;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
 import java.sql.SQLException;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.Mockito.*;
 
 public class DynamicParameterListTest {
@@ -140,5 +144,65 @@ public class DynamicParameterListTest {
             verifyNoMoreInteractions(mockedStatement);
             verifyNoMoreInteractions(mockedConn);
         }
+
+        @Test
+        void signature_depends_on_names_and_kinds_only() {
+            DynamicParameterList first = DynamicParameterList.builder()
+                    .add("a_param1", "Value1")
+                    .add("a_param2", 1)
+                    .build();
+            DynamicParameterList second = DynamicParameterList.builder()
+                    .add("a_param1", "Value2")
+                    .add("a_param2", 2)
+                    .build();
+            DynamicParameterList other = DynamicParameterList.builder()
+                    .add("a_param1", "Value1")
+                    .add("a_param2", true)
+                    .build();
+
+            assertEquals(first.getSignature(), second.getSignature());
+            assertNotEquals(first.getSignature(), other.getSignature());
+        }
+
+        @Test
+        void can_pass_list_through_table() throws SQLException {
+            CallableStatement stmt = mock(CallableStatement.class);
+            Connection conn = mock(Connection.class);
+            PreparedStatement deleteStmt = mock(PreparedStatement.class);
+            PreparedStatement insertStmt = mock(PreparedStatement.class);
+            when(conn.prepareStatement("delete from ut_client_list where list_name = ?")).thenReturn(deleteStmt);
+            when(conn.prepareStatement("insert into ut_client_list (list_name, seq, item) values (?, ?, ?)")).thenReturn(insertStmt);
+
+            DynamicParameterList paramList = DynamicParameterList.builder()
+                    .add("a_param1", "value")
+                    .addAsTableList("a_paths", new Object[]{"app", "app.test_pkg"}, "UT_VARCHAR2_LIST", "ut_client_list")
+                    .build();
+
+            assertEquals("l_a_paths UT_VARCHAR2_LIST; ", paramList.getDeclarationSql());
+            assertEquals("select item bulk collect into l_a_paths from ut_client_list where list_name = ? order by seq; ",
+                    paramList.getInitializationSql());
+            assertEquals("a_param1 => ?, a_paths => l_a_paths", paramList.getSql());
+
+            paramList.setParamsStartWithIndex(stmt, 2);
+            verify(stmt).setString(2, "a_paths");
+            verify(stmt).setString(3, "value");
+
+            paramList.prepare(conn);
+            verify(deleteStmt).setString(1, "a_paths");
+            verify(deleteStmt).executeUpdate();
+            verify(insertStmt).setString(3, "app");
+            verify(insertStmt).setString(3, "app.test_pkg");
+            verify(insertStmt, times(2)).addBatch();
+            verify(insertStmt, times(1)).executeBatch();
+
+            paramList.cleanup(conn);
+            verify(deleteStmt, times(2)).executeUpdate();
+        }
+
+        @Test
+        void rejects_invalid_table_name() {
+            assertThrows(IllegalArgumentException.class, () -> DynamicParameterList.builder()
+                    .addAsTableList("a_paths", new Object[]{"app"}, "UT_VARCHAR2_LIST", "t; drop table x"));
+        }
     }
 }
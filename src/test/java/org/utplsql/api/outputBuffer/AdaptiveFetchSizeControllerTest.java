@@ -0,0 +1,64 @@
+package org.utplsql.api.outputBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdaptiveFetchSizeControllerTest {
+
+    private static final long FAST = 1000;
+    private static final long SLOW = AdaptiveFetchSizeController.MAX_WINDOW_LATENCY_NANOS + 1;
+
+    private boolean fetchWindow(AdaptiveFetchSizeController controller, int rowLength, long nanosPerWindow) {
+        int rows = controller.getFetchSize();
+        boolean changed = false;
+        for (int i = 0; i < rows; i++) {
+            changed = controller.onRowFetched(rowLength, (i == 0) ? nanosPerWindow : 0);
+        }
+        return changed;
+    }
+
+    @Test
+    void grows_while_rows_arrive_fast() {
+        AdaptiveFetchSizeController controller = new AdaptiveFetchSizeController(10, 1000, 100);
+
+        assertTrue(fetchWindow(controller, 80, FAST));
+        assertEquals(200, controller.getFetchSize());
+
+        fetchWindow(controller, 80, FAST);
+        fetchWindow(controller, 80, FAST);
+        assertEquals(800, controller.getFetchSize());
+
+        fetchWindow(controller, 80, FAST);
+        assertEquals(1000, controller.getFetchSize());
+    }
+
+    @Test
+    void shrinks_when_rows_arrive_slow() {
+        AdaptiveFetchSizeController controller = new AdaptiveFetchSizeController(10, 1000, 100);
+
+        fetchWindow(controller, 80, SLOW);
+        assertEquals(50, controller.getFetchSize());
+
+        fetchWindow(controller, 80, SLOW);
+        fetchWindow(controller, 80, SLOW);
+        fetchWindow(controller, 80, SLOW);
+        assertEquals(10, controller.getFetchSize());
+        assertFalse(fetchWindow(controller, 80, SLOW));
+    }
+
+    @Test
+    void limits_characters_per_fetch() {
+        AdaptiveFetchSizeController controller = new AdaptiveFetchSizeController(1, 100_000, 1000);
+
+        fetchWindow(controller, 10_000, FAST);
+
+        assertEquals(AdaptiveFetchSizeController.MAX_CHARS_PER_FETCH / 10_000, controller.getFetchSize());
+    }
+
+    @Test
+    void rejects_invalid_bounds() {
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveFetchSizeController(0, 10, 5));
+        assertThrows(IllegalArgumentException.class, () -> new AdaptiveFetchSizeController(10, 5, 5));
+    }
+}
@@ -0,0 +1,153 @@
+package org.utplsql.api.outputBuffer;
+
+import oracle.jdbc.OracleCallableStatement;
+import oracle.jdbc.OracleConnection;
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.exception.UncheckedSQLException;
+import org.utplsql.api.reporter.Reporter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class DefaultOutputBufferTest {
+
+    private ResultSet resultSet;
+    private OracleCallableStatement stmt;
+    private OracleConnection conn;
+
+    private DefaultOutputBuffer createOutputBuffer(String... lines) throws SQLException {
+        Iterator<String> lineIterator = Arrays.asList(lines).iterator();
+        String[] currentLine = new String[1];
+
+        resultSet = mock(ResultSet.class);
+        when(resultSet.next()).thenAnswer(invocation -> {
+            if (!lineIterator.hasNext()) {
+                return false;
+            }
+            currentLine[0] = lineIterator.next();
+            return true;
+        });
+        when(resultSet.findColumn("text")).thenReturn(1);
+        when(resultSet.getString(1)).thenAnswer(invocation -> currentLine[0]);
+
+        stmt = mock(OracleCallableStatement.class);
+        when(stmt.getObject(1)).thenReturn(resultSet);
+
+        conn = mock(OracleConnection.class);
+        when(conn.unwrap(OracleConnection.class)).thenReturn(conn);
+        when(conn.prepareCall(anyString())).thenReturn(stmt);
+
+        Reporter reporter = mock(Reporter.class);
+        when(reporter.isInit()).thenReturn(true);
+        return new DefaultOutputBuffer(reporter);
+    }
+
+    @Test
+    void fetches_lines_with_configured_fetch_size() throws SQLException {
+        DefaultOutputBuffer outputBuffer = createOutputBuffer("a", "b", "c");
+        outputBuffer.setFetchSize(5000);
+
+        assertEquals(Arrays.asList("a", "b", "c"), outputBuffer.fetchAll(conn));
+        verify(stmt).setFetchSize(5000);
+    }
+
+    @Test
+    void transfers_lines_to_multiple_channels() throws SQLException, IOException {
+        DefaultOutputBuffer outputBuffer = createOutputBuffer("first", null, "\u00e4\u00f6\u00fc");
+        String expected = "first" + System.lineSeparator() + System.lineSeparator() + "\u00e4\u00f6\u00fc" + System.lineSeparator();
+
+        ByteArrayOutputStream out1 = new ByteArrayOutputStream();
+        ByteArrayOutputStream out2 = new ByteArrayOutputStream();
+        long bytes = outputBuffer.transferTo(conn, StandardCharsets.UTF_8, Channels.newChannel(out1), Channels.newChannel(out2));
+
+        assertEquals(expected, new String(out1.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(expected, new String(out2.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(expected.getBytes(StandardCharsets.UTF_8).length, bytes);
+    }
+
+    @Test
+    void transfers_lone_high_surrogate_at_line_end() throws SQLException, IOException {
+        DefaultOutputBuffer outputBuffer = createOutputBuffer("broken \ud83d", "next");
+        String expected = "broken ?" + System.lineSeparator() + "next" + System.lineSeparator();
+
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        long bytes = outputBuffer.transferTo(conn, StandardCharsets.UTF_8, Channels.newChannel(out));
+
+        assertEquals(expected, new String(out.toByteArray(), StandardCharsets.UTF_8));
+        assertEquals(expected.length(), bytes);
+    }
+
+    @Test
+    void transfers_more_than_one_buffer_to_file_channel() throws SQLException, IOException {
+        String[] lines = new String[5000];
+        StringBuilder expected = new StringBuilder();
+        for (int i = 0; i < lines.length; i++) {
+            lines[i] = "line " + i + " of a longer report that spans several buffers";
+            expected.append(lines[i]).append(System.lineSeparator());
+        }
+        DefaultOutputBuffer outputBuffer = createOutputBuffer(lines);
+
+        Path file = Files.createTempFile("utplsql-output", ".txt");
+        try {
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.WRITE)) {
+                outputBuffer.transferTo(conn, StandardCharsets.UTF_8, channel);
+            }
+            assertEquals(expected.toString(), new String(Files.readAllBytes(file), StandardCharsets.UTF_8));
+        } finally {
+            Files.delete(file);
+        }
+    }
+
+    @Test
+    void streams_lines_lazily() throws SQLException {
+        DefaultOutputBuffer outputBuffer = createOutputBuffer("a", "bb", "c", "dd");
+
+        List<String> result;
+        try (Stream<String> lines = outputBuffer.stream(conn)) {
+            result = lines.filter(s -> s.length() == 2).limit(1).collect(Collectors.toList());
+        }
+
+        assertEquals(Arrays.asList("bb"), result);
+        verify(resultSet, times(2)).next();
+        verify(resultSet).close();
+        verify(stmt).close();
+    }
+
+    @Test
+    void stream_wraps_fetch_errors() throws SQLException {
+        DefaultOutputBuffer outputBuffer = createOutputBuffer("a");
+        when(resultSet.next()).thenThrow(new SQLException("broken"));
+
+        try (Stream<String> lines = outputBuffer.stream(conn)) {
+            UncheckedSQLException e = assertThrows(UncheckedSQLException.class, lines::count);
+            assertEquals("broken", e.getCause().getMessage());
+        }
+    }
+
+    @Test
+    void fetches_all_lines_spilling_to_disk() throws SQLException, IOException {
+        DefaultOutputBuffer outputBuffer = createOutputBuffer("a", "b", "c");
+
+        try (SpillingLineList lines = outputBuffer.fetchAllSpilling(conn, 2)) {
+            assertEquals(Arrays.asList("a", "b", "c"), lines);
+        }
+    }
+}
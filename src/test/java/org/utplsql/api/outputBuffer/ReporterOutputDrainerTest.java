@@ -0,0 +1,138 @@
+package org.utplsql.api.outputBuffer;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.reporter.Reporter;
+
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.*;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+class ReporterOutputDrainerTest {
+
+    @SuppressWarnings("unchecked")
+    private Reporter mockReporter(String... lines) throws SQLException {
+        OutputBuffer outputBuffer = mock(OutputBuffer.class);
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            Arrays.stream(lines).forEach(consumer);
+            return null;
+        }).when(outputBuffer).fetchAvailable(any(Connection.class), any(Consumer.class));
+
+        Reporter reporter = mock(Reporter.class);
+        when(reporter.getOutputBuffer()).thenReturn(outputBuffer);
+        return reporter;
+    }
+
+    @Test
+    void drains_every_reporter_on_own_connection() throws SQLException {
+        List<Connection> connections = Collections.synchronizedList(new ArrayList<>());
+        List<String> output1 = Collections.synchronizedList(new ArrayList<>());
+        List<String> output2 = Collections.synchronizedList(new ArrayList<>());
+
+        Map<Reporter, Consumer<String>> sinks = new LinkedHashMap<>();
+        sinks.put(mockReporter("a", "b"), output1::add);
+        sinks.put(mockReporter("c"), output2::add);
+
+        try (ReporterOutputDrainer drainer = ReporterOutputDrainer.start(() -> {
+            Connection conn = mock(Connection.class);
+            connections.add(conn);
+            return conn;
+        }, sinks)) {
+            drainer.awaitCompletion();
+        }
+
+        assertEquals(Arrays.asList("a", "b"), output1);
+        assertEquals(Collections.singletonList("c"), output2);
+        assertEquals(2, connections.size());
+        for (Connection conn : connections) {
+            verify(conn).close();
+        }
+    }
+
+    @Test
+    void passes_exceptions_of_drains() {
+        Map<Reporter, Consumer<String>> sinks = new LinkedHashMap<>();
+        sinks.put(mock(Reporter.class, RETURNS_DEEP_STUBS), line -> { });
+
+        try (ReporterOutputDrainer drainer = ReporterOutputDrainer.start(() -> {
+            throw new SQLException("No connection");
+        }, sinks)) {
+            SQLException e = assertThrows(SQLException.class, drainer::awaitCompletion);
+            assertEquals("No connection", e.getMessage());
+        }
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void close_aborts_blocked_drains() throws Exception {
+        CountDownLatch fetchStarted = new CountDownLatch(1);
+        CountDownLatch aborted = new CountDownLatch(1);
+        Connection conn = mock(Connection.class);
+        doAnswer(invocation -> {
+            aborted.countDown();
+            return null;
+        }).when(conn).abort(any());
+
+        OutputBuffer outputBuffer = mock(OutputBuffer.class);
+        doAnswer(invocation -> {
+            fetchStarted.countDown();
+            // Like a JDBC call, blocking until the connection is aborted and ignoring interrupts
+            while (!aborted.await(10, TimeUnit.SECONDS)) {
+                Thread.yield();
+            }
+            throw new SQLException("Connection aborted");
+        }).when(outputBuffer).fetchAvailable(any(Connection.class), any(Consumer.class));
+        Reporter reporter = mock(Reporter.class);
+        when(reporter.getOutputBuffer()).thenReturn(outputBuffer);
+
+        ReporterOutputDrainer drainer = ReporterOutputDrainer.start(() -> conn, Collections.singletonMap(reporter, line -> { }));
+        assertTrue(fetchStarted.await(5, TimeUnit.SECONDS));
+
+        long start = System.nanoTime();
+        drainer.close();
+
+        assertTrue(TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start) < 5);
+        verify(conn).abort(any());
+        assertThrows(SQLException.class, drainer::awaitCompletion);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void lines_of_second_reporter_arrive_while_first_is_running() throws Exception {
+        CountDownLatch secondReporterLine = new CountDownLatch(1);
+        List<String> output1 = Collections.synchronizedList(new ArrayList<>());
+
+        // The first reporter only finishes after the line of the second one was delivered
+        OutputBuffer outputBuffer1 = mock(OutputBuffer.class);
+        doAnswer(invocation -> {
+            Consumer<String> consumer = invocation.getArgument(1);
+            consumer.accept("first-started");
+            if (!secondReporterLine.await(5, TimeUnit.SECONDS)) {
+                throw new SQLException("Second reporter was blocked by the first one");
+            }
+            consumer.accept("first-finished");
+            return null;
+        }).when(outputBuffer1).fetchAvailable(any(Connection.class), any(Consumer.class));
+        Reporter reporter1 = mock(Reporter.class);
+        when(reporter1.getOutputBuffer()).thenReturn(outputBuffer1);
+
+        Map<Reporter, Consumer<String>> sinks = new LinkedHashMap<>();
+        sinks.put(reporter1, output1::add);
+        sinks.put(mockReporter("second"), line -> secondReporterLine.countDown());
+
+        try (ReporterOutputDrainer drainer = ReporterOutputDrainer.start(() -> mock(Connection.class), sinks)) {
+            drainer.awaitCompletion(10, TimeUnit.SECONDS);
+        }
+
+        assertEquals(Arrays.asList("first-started", "first-finished"), output1);
+    }
+}
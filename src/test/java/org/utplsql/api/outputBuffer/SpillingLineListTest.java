@@ -0,0 +1,53 @@
+package org.utplsql.api.outputBuffer;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpillingLineListTest {
+
+    @Test
+    void keeps_lines_on_heap_below_threshold() throws IOException {
+        try (SpillingLineList lines = new SpillingLineList(1024)) {
+            lines.append("a");
+            lines.append("b");
+            lines.complete();
+
+            assertFalse(lines.isSpilled());
+            assertEquals(Arrays.asList("a", "b"), lines);
+        }
+    }
+
+    @Test
+    void spills_lines_above_threshold() throws IOException {
+        List<String> expected = new ArrayList<>();
+        try (SpillingLineList lines = new SpillingLineList(10, 100)) {
+            for (int i = 0; i < 200; i++) {
+                String line = (i % 7 == 3) ? null : "line \u00e4 " + i;
+                expected.add(line);
+                lines.append(line);
+            }
+            lines.complete();
+
+            assertTrue(lines.isSpilled());
+            assertEquals(200, lines.size());
+            assertEquals(expected, lines);
+            assertEquals("line \u00e4 198", lines.get(198));
+        }
+    }
+
+    @Test
+    void rejects_index_out_of_range() throws IOException {
+        try (SpillingLineList lines = new SpillingLineList(0)) {
+            lines.append("a");
+            lines.complete();
+
+            assertThrows(IndexOutOfBoundsException.class, () -> lines.get(1));
+        }
+    }
+}
@@ -0,0 +1,72 @@
+package org.utplsql.api.reporter;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.FileMapping;
+import org.utplsql.api.reporter.realtime.RealtimeEventStream;
+
+import java.io.StringWriter;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RealtimeReportWriterTest {
+
+    private static final List<String> OUTPUT = Arrays.asList(
+            "<event type=\"pre-run\"><items>",
+            "<suite id=\"app.test_pkg\"><name>test_pkg</name><description>My package</description><items>",
+            "<test id=\"app.test_pkg.ok\"><ownerName>APP</ownerName><objectName>TEST_PKG</objectName><procedureName>OK</procedureName><name>ok</name><testNumber>1</testNumber></test>",
+            "<test id=\"app.test_pkg.fails\"><ownerName>APP</ownerName><objectName>TEST_PKG</objectName><procedureName>FAILS</procedureName><name>fails</name><description>Fails [sometimes]</description><testNumber>2</testNumber></test>",
+            "</items></suite></items><totalNumberOfTests>2</totalNumberOfTests></event>",
+            "<event type=\"pre-suite\"><suite id=\"app.test_pkg\"/></event>",
+            "<event type=\"pre-test\"><test id=\"app.test_pkg.ok\"/></event>",
+            "<event type=\"post-test\"><test id=\"app.test_pkg.ok\"><executionTime>0.001</executionTime><counter><success>1</success></counter></test></event>",
+            "<event type=\"pre-test\"><test id=\"app.test_pkg.fails\"/></event>",
+            "<event type=\"post-test\"><test id=\"app.test_pkg.fails\"><executionTime>0.25</executionTime><counter><failure>1</failure></counter>",
+            "<failedExpectations><expectation><message>Actual: 1 was expected to equal: 'x' &lt;2&gt;</message></expectation></failedExpectations></test></event>",
+            "<event type=\"post-suite\"><suite id=\"app.test_pkg\"><executionTime>0.3</executionTime><counter><success>1</success><failure>1</failure></counter></suite></event>",
+            "<event type=\"post-run\"><run><executionTime>0.4</executionTime><counter><success>1</success><failure>1</failure></counter></run></event>"
+    );
+
+    private void replay(RealtimeReportWriter... writers) throws SQLException {
+        try (RealtimeEventStream events = new RealtimeEventStream(OUTPUT.iterator(), () -> { })) {
+            events.forEach(event -> {
+                for (RealtimeReportWriter writer : writers) {
+                    writer.accept(event);
+                }
+            });
+        }
+    }
+
+    @Test
+    void writes_all_formats_from_one_stream() throws SQLException {
+        StringWriter junit = new StringWriter();
+        StringWriter sonar = new StringWriter();
+        StringWriter teamcity = new StringWriter();
+
+        replay(new JUnitReportWriter(junit),
+                new SonarTestReportWriter(sonar, Collections.singletonList(
+                        new FileMapping("test/app/test_pkg.pks", "APP", "TEST_PKG", "PACKAGE"))),
+                new TeamCityReportWriter(teamcity));
+
+        assertThat(junit.toString(), containsString("<testsuites tests=\"2\" skipped=\"0\" error=\"0\" failure=\"1\" name=\"\" time=\"0.400\">"));
+        assertThat(junit.toString(), containsString("<testsuite tests=\"2\" id=\"1\" package=\"app.test_pkg\" skipped=\"0\" errors=\"0\" failures=\"1\" name=\"My package\" time=\"0.251\">"));
+        assertThat(junit.toString(), containsString("<testcase classname=\"app.test_pkg\" name=\"Fails [sometimes]\" time=\"0.250\" status=\"Failure\"><failure>Actual: 1 was expected to equal: 'x' &lt;2&gt;"));
+
+        assertThat(sonar.toString(), containsString("<file path=\"test/app/test_pkg.pks\"><testCase name=\"ok\" duration=\"1\"></testCase>"));
+        assertThat(sonar.toString(), containsString("<testCase name=\"fails\" duration=\"250\"><failure message=\"some expectations have failed\">"));
+
+        assertThat(teamcity.toString(), containsString("##teamcity[testSuiteStarted name='My package']\n"));
+        assertThat(teamcity.toString(), containsString("##teamcity[testFailed details='Actual: 1 was expected to equal: |'x|' <2>|n' message='Failure' name='app.test_pkg.fails']\n"));
+        assertThat(teamcity.toString(), containsString("##teamcity[testFinished duration='250' name='app.test_pkg.fails']\n"));
+    }
+
+    @Test
+    void escapes_teamcity_values() {
+        assertEquals("a|||'|n|r|[|]", TeamCityReportWriter.escape("a|'\n\r[]"));
+    }
+}
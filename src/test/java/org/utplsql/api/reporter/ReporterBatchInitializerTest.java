@@ -0,0 +1,78 @@
+package org.utplsql.api.reporter;
+
+import oracle.jdbc.OracleArray;
+import oracle.jdbc.OracleCallableStatement;
+import oracle.jdbc.OracleConnection;
+import oracle.sql.Datum;
+import oracle.sql.STRUCT;
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.Version;
+import org.utplsql.api.compatibility.CompatibilityProxy;
+import org.utplsql.api.db.SessionBootstrap;
+import org.utplsql.api.outputBuffer.OutputBuffer;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.containsString;
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class ReporterBatchInitializerTest {
+
+    private STRUCT dbReporter(String typeName, byte[] id) throws SQLException {
+        STRUCT struct = mock(STRUCT.class);
+        when(struct.getSQLTypeName()).thenReturn(typeName);
+        when(struct.getAttributes()).thenReturn(new Object[]{typeName, id});
+        return struct;
+    }
+
+    @Test
+    void initializes_all_reporters_in_one_call() throws SQLException {
+        OracleConnection conn = mock(OracleConnection.class);
+        OracleCallableStatement stmt = mock(OracleCallableStatement.class);
+        when(conn.unwrap(OracleConnection.class)).thenReturn(conn);
+        when(conn.prepareCall(anyString())).thenReturn(stmt);
+
+        Datum[] dbReporters = new Datum[]{
+                dbReporter("UT_DOCUMENTATION_REPORTER", new byte[]{1}),
+                dbReporter("UT_SONAR_TEST_REPORTER", new byte[]{2})};
+        OracleArray reporters = mock(OracleArray.class);
+        when(reporters.getArray()).thenReturn(dbReporters);
+        when(stmt.getArray(2)).thenReturn(reporters);
+        OracleArray hasOutput = mock(OracleArray.class);
+        when(hasOutput.getArray()).thenReturn(new String[]{"1", "0"});
+        when(stmt.getArray(3)).thenReturn(hasOutput);
+
+        CompatibilityProxy proxy = new CompatibilityProxy(new SessionBootstrap(Version.V3_1_7, "APP", 1, 0, null), null);
+        List<Reporter> reporterList = Arrays.asList(
+                new DefaultReporter("UT_DOCUMENTATION_REPORTER", null),
+                new DefaultReporter("UT_SONAR_TEST_REPORTER", null));
+
+        ReporterBatchInitializer.initialize(conn, reporterList, proxy, ReporterFactory.createEmpty());
+
+        verify(conn, times(1)).prepareCall(anyString());
+        verify(conn).prepareCall(argThat((String sql) -> sql.contains("is of (ut_output_reporter_base)")));
+        assertTrue(reporterList.get(0).isInit());
+        assertEquals("01", reporterList.get(0).getId());
+        assertEquals("02", reporterList.get(1).getId());
+
+        OutputBuffer withOutput = reporterList.get(0).getOutputBuffer();
+        OutputBuffer withoutOutput = reporterList.get(1).getOutputBuffer();
+        assertThat(withOutput.getClass().getSimpleName(), containsString("DefaultOutputBuffer"));
+        assertThat(withoutOutput.getClass().getSimpleName(), containsString("NonOutputBuffer"));
+    }
+
+    @Test
+    void does_nothing_without_reporters() throws SQLException {
+        OracleConnection conn = mock(OracleConnection.class);
+        CompatibilityProxy proxy = new CompatibilityProxy(new SessionBootstrap(Version.V3_1_7, "APP", 1, 0, null), null);
+
+        ReporterBatchInitializer.initialize(conn, Arrays.asList(), proxy, ReporterFactory.createEmpty());
+
+        verifyZeroInteractions(conn);
+    }
+}
@@ -0,0 +1,69 @@
+package org.utplsql.api.reporter.inspect;
+
+import oracle.jdbc.OracleArray;
+import oracle.jdbc.OracleCallableStatement;
+import oracle.jdbc.OracleConnection;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.Version;
+import org.utplsql.api.reporter.ReporterFactory;
+
+import java.sql.DatabaseMetaData;
+import java.sql.SQLException;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+class ReporterInspector310Test {
+
+    private OracleConnection conn;
+
+    @BeforeEach
+    void setUp() throws SQLException {
+        ReporterInspector.invalidateCache();
+
+        OracleArray names = mock(OracleArray.class);
+        when(names.getArray()).thenReturn(new String[]{"UT3.UT_DOCUMENTATION_REPORTER", "UT3.UT_TEAMCITY_REPORTER"});
+        OracleArray descriptions = mock(OracleArray.class);
+        when(descriptions.getArray()).thenReturn(new String[]{"Documentation", "TeamCity"});
+
+        OracleCallableStatement stmt = mock(OracleCallableStatement.class);
+        when(stmt.getArray(1)).thenReturn(names);
+        when(stmt.getArray(2)).thenReturn(descriptions);
+
+        DatabaseMetaData metaData = mock(DatabaseMetaData.class);
+        when(metaData.getURL()).thenReturn("jdbc:oracle:thin:@db:1521/xe");
+        when(metaData.getUserName()).thenReturn("APP");
+
+        conn = mock(OracleConnection.class);
+        when(conn.unwrap(OracleConnection.class)).thenReturn(conn);
+        when(conn.getMetaData()).thenReturn(metaData);
+        when(conn.prepareCall(anyString())).thenReturn(stmt);
+    }
+
+    @AfterEach
+    void tearDown() {
+        ReporterInspector.invalidateCache();
+    }
+
+    @Test
+    void fetches_all_descriptions_in_one_call_and_caches_them() throws SQLException {
+        ReporterFactory reporterFactory = ReporterFactory.createEmpty();
+        reporterFactory.registerReporterFactoryMethod("UT_DOCUMENTATION_REPORTER", (name, attributes) -> null, "Java");
+
+        Map<String, ReporterInfo> infos = new ReporterInspector310(reporterFactory, conn, Version.V3_1_7).getReporterInfoMap();
+        new ReporterInspector310(reporterFactory, conn, Version.V3_1_7);
+
+        assertEquals(2, infos.size());
+        assertEquals(ReporterInfo.Type.SQL_WITH_JAVA, infos.get("UT_DOCUMENTATION_REPORTER").getType());
+        assertEquals("Documentation\nJava", infos.get("UT_DOCUMENTATION_REPORTER").getDescription());
+        assertEquals("TeamCity", infos.get("UT_TEAMCITY_REPORTER").getDescription());
+        verify(conn, times(1)).prepareCall(anyString());
+
+        new ReporterInspector310(reporterFactory, conn, Version.V3_1_8);
+        verify(conn, times(2)).prepareCall(anyString());
+    }
+}
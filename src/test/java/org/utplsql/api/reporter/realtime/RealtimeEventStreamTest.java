@@ -0,0 +1,118 @@
+package org.utplsql.api.reporter.realtime;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.exception.UncheckedSQLException;
+
+import java.sql.SQLException;
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class RealtimeEventStreamTest {
+
+    private static final List<String> OUTPUT = Arrays.asList(
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"pre-run\">",
+            "  <items>",
+            "    <suite id=\"app.test_betwnstr\">",
+            "      <name>test_betwnstr</name>",
+            "      <description>Between string function</description>",
+            "      <items>",
+            "        <test id=\"app.test_betwnstr.normal_case\">",
+            "          <executableType>procedure</executableType>",
+            "          <ownerName>APP</ownerName>",
+            "          <objectName>TEST_BETWNSTR</objectName>",
+            "          <procedureName>NORMAL_CASE</procedureName>",
+            "          <disabled>false</disabled>",
+            "          <name>normal_case</name>",
+            "          <testNumber>1</testNumber>",
+            "        </test>",
+            "      </items>",
+            "    </suite>",
+            "  </items>",
+            "  <totalNumberOfTests>1</totalNumberOfTests>",
+            "</event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"pre-suite\"><suite id=\"app.test_betwnstr\"/></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"pre-test\"><test id=\"app.test_betwnstr.normal_case\"><testNumber>1</testNumber><totalNumberOfTests>1</totalNumberOfTests></test></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-test\">",
+            "  <test id=\"app.test_betwnstr.normal_case\">",
+            "    <testNumber>1</testNumber><totalNumberOfTests>1</totalNumberOfTests>",
+            "    <startTime>2019-06-01T10:15:30.123456</startTime><endTime>2019-06-01T10:15:30.135456</endTime>",
+            "    <executionTime>,012</executionTime>",
+            "    <counter><disabled>0</disabled><success>0</success><failure>1</failure><error>0</error><warning>0</warning></counter>",
+            "    <failedExpectations><expectation><description>a</description><message><![CDATA[Actual: 'b' (varchar2) was expected to equal: 'c' (varchar2)]]></message><caller><![CDATA[at line 5]]></caller></expectation></failedExpectations>",
+            "  </test>",
+            "</event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"unknown-event\"/>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-suite\"><suite id=\"app.test_betwnstr\"><executionTime>0.02</executionTime><counter><failure>1</failure></counter></suite></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-run\"><run><executionTime>0.03</executionTime><counter><failure>1</failure></counter></run></event>"
+    );
+
+    @Test
+    void parses_events_in_order() throws SQLException {
+        List<RealtimeEvent> events = new ArrayList<>();
+        try (RealtimeEventStream stream = new RealtimeEventStream(OUTPUT.iterator(), () -> { })) {
+            stream.forEach(events::add);
+        }
+
+        assertEquals(6, events.size());
+        assertEquals(RealtimeEvent.Type.PRE_RUN, events.get(0).getType());
+        assertEquals(RealtimeEvent.Type.POST_RUN, events.get(5).getType());
+
+        RunStarted runStarted = (RunStarted) events.get(0);
+        assertEquals(1, runStarted.getTotalNumberOfTests());
+        SuiteNode suite = (SuiteNode) runStarted.getItems().get(0);
+        assertEquals("Between string function", suite.getDescription());
+        TestNode test = (TestNode) suite.getItems().get(0);
+        assertEquals("NORMAL_CASE", test.getProcedureName());
+        assertFalse(test.isDisabled());
+
+        assertEquals("app.test_betwnstr", ((SuiteStarted) events.get(1)).getId());
+
+        TestFinished testFinished = (TestFinished) events.get(3);
+        assertTrue(testFinished.isFailed());
+        assertEquals(Duration.ofMillis(12), testFinished.getExecutionTime());
+        assertEquals(LocalDateTime.of(2019, 6, 1, 10, 15, 30, 123456000), testFinished.getStartTime());
+        assertEquals("at line 5", testFinished.getFailedExpectations().get(0).getCaller());
+
+        assertEquals(1, ((SuiteFinished) events.get(4)).getCounter().getFailure());
+        assertEquals(Duration.ofMillis(30), ((RunFinished) events.get(5)).getExecutionTime());
+    }
+
+    @Test
+    void returns_null_without_output() throws SQLException {
+        try (RealtimeEventStream stream = new RealtimeEventStream(new ArrayList<String>().iterator(), () -> { })) {
+            assertNull(stream.next());
+        }
+    }
+
+    @Test
+    void passes_sql_errors_while_fetching() {
+        Iterator<String> failing = new Iterator<String>() {
+            @Override
+            public boolean hasNext() {
+                throw new UncheckedSQLException(new SQLException("ORA-01013"));
+            }
+
+            @Override
+            public String next() {
+                return null;
+            }
+        };
+
+        RealtimeEventStream stream = new RealtimeEventStream(failing, () -> { });
+        SQLException e = assertThrows(SQLException.class, stream::next);
+        assertEquals("ORA-01013", e.getMessage());
+    }
+}
@@ -4,6 +4,7 @@ import oracle.jdbc.OracleConnection;
 import org.hamcrest.Matcher;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
 import org.mockito.verification.VerificationMode;
 import org.utplsql.api.CustomTypes;
 import org.utplsql.api.FileMapping;
@@ -13,10 +14,14 @@ import org.utplsql.api.Version;
 import java.sql.Array;
 import java.sql.CallableStatement;
 import java.sql.SQLException;
+import java.util.List;
+import java.util.stream.Collectors;
 
 import static org.hamcrest.CoreMatchers.containsString;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.mockito.Mockito.*;
 
 public class DynamicTestRunnerStatementTest {
@@ -131,6 +136,8 @@ public class DynamicTestRunnerStatementTest {
 
         // Act
         options = TestRunnerStatementProviderIT.getCompletelyFilledOptions();
+        options.sourceMappingOptions.setDatabaseMapping(true);
+        options.testMappingOptions.setDatabaseMapping(true);
     }
 
     @Test
@@ -264,4 +271,64 @@ public class DynamicTestRunnerStatementTest {
         checkRandomTestOrder(true);
         checkTags(true);
     }
+
+    @Test
+    void prepares_statement_with_cached_template() throws SQLException {
+        CallableStatement preparedStatement = mock(CallableStatement.class);
+        doReturn(preparedStatement)
+                .when(oracleConnection).prepareCall(argThat(a -> a.startsWith("BEGIN ut_runner.run(")));
+
+        DynamicTestRunnerStatement.forVersion(Version.V3_1_8, oracleConnection, options, null);
+        DynamicTestRunnerStatement.forVersion(Version.V3_1_8, oracleConnection, options, null);
+
+        ArgumentCaptor<String> sql = ArgumentCaptor.forClass(String.class);
+        verify(oracleConnection, atLeast(2)).prepareCall(sql.capture());
+        List<String> runnerCalls = sql.getAllValues().stream()
+                .filter(s -> s.startsWith("BEGIN ut_runner.run("))
+                .collect(Collectors.toList());
+        assertEquals(2, runnerCalls.size());
+        // The template is reused, not built again
+        assertSame(runnerCalls.get(0), runnerCalls.get(1));
+        verify(oracleConnection, never()).setImplicitCachingEnabled(anyBoolean());
+    }
+
+    @Test
+    void enables_implicit_statement_cache() throws SQLException {
+        CallableStatement preparedStatement = mock(CallableStatement.class);
+        doReturn(preparedStatement)
+                .when(oracleConnection).prepareCall(argThat(a -> a.startsWith("BEGIN ut_runner.run(")));
+        options.statementCacheSize = 20;
+
+        DynamicTestRunnerStatement.forVersion(Version.V3_1_8, oracleConnection, options, null);
+
+        verify(oracleConnection).setImplicitCachingEnabled(true);
+        verify(oracleConnection).setStatementCacheSize(20);
+    }
+
+    @Test
+    void passes_large_lists_through_list_table() throws SQLException {
+        options.listTableName = "ut_client_list";
+        options.listTableThreshold = 2;
+        options.includeObjects.clear();
+        options.includeObjects.add("app.pkg1");
+        options.includeObjects.add("app.pkg2");
+        options.excludeObjects.clear();
+        options.excludeObjects.add("app.pkg3");
+
+        CallableStatement preparedStatement = mock(CallableStatement.class);
+        doReturn(preparedStatement)
+                .when(oracleConnection).prepareCall(argThat(a -> a.startsWith("DECLARE ")));
+
+        testRunnerStatement = DynamicTestRunnerStatement.forVersion(Version.V3_1_8, oracleConnection, options, null);
+
+        assertThat(testRunnerStatement.getSql(), containsString("a_include_objects => l_a_include_objects"));
+        verify(preparedStatement).setString(1, "a_include_objects");
+        verify(oracleConnection).prepareCall(argThat(sql -> sql.startsWith(
+                "DECLARE l_a_include_objects " + CustomTypes.UT_VARCHAR2_LIST + "; BEGIN "
+                        + "select item bulk collect into l_a_include_objects from ut_client_list where list_name = ? order by seq; "
+                        + "ut_runner.run(")));
+        assertThat(testRunnerStatement.getSql(), containsString("a_exclude_objects => ?"));
+        verify(oracleConnection, never()).createOracleArray(CustomTypes.UT_VARCHAR2_LIST, options.includeObjects.toArray());
+        verify(oracleConnection).createOracleArray(CustomTypes.UT_VARCHAR2_LIST, options.excludeObjects.toArray());
+    }
 }
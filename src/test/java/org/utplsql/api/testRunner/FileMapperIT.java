@@ -45,6 +45,63 @@ class FileMapperIT extends AbstractDatabaseTest {
         assertMapping(fileMappings.get(1), "APP", "BETWNSTR", "FUNCTION");
     }
 
+    @Test
+    void testDatabaseFileMapper() throws SQLException {
+        List<String> filePaths = java.util.Arrays.asList(
+                "/award_bonus.prc",
+                "/betwnstr.fnc",
+                "/Sources/App.Award_Bonus.PRC",
+                "/sources/Betwnstr.Fnc",
+                "/sources/trigger.TRG");
+
+        List<KeyValuePair> typeMappings = new ArrayList<>();
+        typeMappings.add(new KeyValuePair("prc", "PROCEDURE"));
+        typeMappings.add(new KeyValuePair("fnc", "FUNCTION"));
+        typeMappings.add(new KeyValuePair("PRC", "PROCEDURE"));
+        typeMappings.add(new KeyValuePair("Fnc", "FUNCTION"));
+
+        FileMapperOptions mapperOptions = new FileMapperOptions(filePaths);
+        mapperOptions.setObjectOwner("APP");
+        mapperOptions.setTypeMappings(typeMappings);
+        mapperOptions.setDatabaseMapping(true);
+
+        List<FileMapping> fileMappings = FileMapper.buildFileMappingList(getConnection(), mapperOptions);
+
+        mapperOptions.setDatabaseMapping(false);
+        List<FileMapping> localFileMappings = FileMapper.buildFileMappingList(getConnection(), mapperOptions);
+
+        assertEquals(4, fileMappings.size());
+        assertEquals(fileMappings.size(), localFileMappings.size());
+        for (int i = 0; i < fileMappings.size(); i++) {
+            FileMapping expected = fileMappings.get(i);
+            assertEquals(expected.getFileName(), localFileMappings.get(i).getFileName());
+            assertMapping(localFileMappings.get(i), expected.getObjectOwner(), expected.getObjectName(), expected.getObjectType());
+        }
+    }
+
+    @Test
+    void localFileMapperIgnoresCaseLikeDatabase() throws SQLException {
+        List<String> filePaths = java.util.Arrays.asList("/x.PRC", "/y.prc");
+
+        List<KeyValuePair> typeMappings = new ArrayList<>();
+        typeMappings.add(new KeyValuePair("prc", "PROCEDURE"));
+
+        FileMapperOptions mapperOptions = new FileMapperOptions(filePaths);
+        mapperOptions.setObjectOwner("APP");
+        mapperOptions.setTypeMappings(typeMappings);
+        mapperOptions.setDatabaseMapping(true);
+
+        List<FileMapping> fileMappings = FileMapper.buildFileMappingList(getConnection(), mapperOptions);
+
+        mapperOptions.setDatabaseMapping(false);
+        List<FileMapping> localFileMappings = FileMapper.buildFileMappingList(getConnection(), mapperOptions);
+
+        assertEquals(2, fileMappings.size());
+        assertEquals(2, localFileMappings.size());
+        assertEquals("/x.PRC", localFileMappings.get(0).getFileName());
+        assertMapping(localFileMappings.get(0), "APP", "X", "PROCEDURE");
+    }
+
     private void assertMapping(FileMapping fileMapping, String owner, String name, String type) {
         assertEquals(owner, fileMapping.getObjectOwner());
         assertEquals(name, fileMapping.getObjectName());
@@ -0,0 +1,87 @@
+package org.utplsql.api.testRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.utplsql.api.FileMapperOptions;
+import org.utplsql.api.FileMapping;
+import org.utplsql.api.KeyValuePair;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class FileMappingCacheTest {
+
+    @TempDir
+    Path directory;
+
+    private FileMapperOptions options() {
+        FileMapperOptions options = new FileMapperOptions(Arrays.asList("/src/award_bonus.prc", "/src/betwnstr.fnc"));
+        options.setObjectOwner("APP");
+        return options;
+    }
+
+    @Test
+    void roundTrip() {
+        List<FileMapping> mappings = Arrays.asList(
+                new FileMapping("/src/award_bonus.prc", "APP", "AWARD_BONUS", "PROCEDURE"),
+                new FileMapping("/src/betwnstr.fnc", null, "BETWNSTR", "FUNCTION"));
+
+        FileMappingCache cache = new FileMappingCache(directory);
+        String key = FileMappingCache.keyOf(options(), null);
+        assertNull(cache.load(key));
+
+        cache.store(key, mappings);
+        List<FileMapping> loaded = new FileMappingCache(directory).load(key);
+
+        assertNotNull(loaded);
+        assertEquals(2, loaded.size());
+        assertEquals("/src/award_bonus.prc", loaded.get(0).getFileName());
+        assertEquals("APP", loaded.get(0).getObjectOwner());
+        assertEquals("AWARD_BONUS", loaded.get(0).getObjectName());
+        assertEquals("PROCEDURE", loaded.get(0).getObjectType());
+        assertNull(loaded.get(1).getObjectOwner());
+        assertEquals("FUNCTION", loaded.get(1).getObjectType());
+    }
+
+    @Test
+    void keyChangesWithOptions() {
+        String key = FileMappingCache.keyOf(options(), null);
+        assertEquals(key, FileMappingCache.keyOf(options(), null));
+
+        FileMapperOptions otherPaths = options();
+        otherPaths.setFilePaths(Collections.singletonList("/src/award_bonus.prc"));
+        assertNotEquals(key, FileMappingCache.keyOf(otherPaths, null));
+
+        FileMapperOptions otherTypes = options();
+        otherTypes.setTypeMappings(Collections.singletonList(new KeyValuePair("prc", "PROCEDURE")));
+        assertNotEquals(key, FileMappingCache.keyOf(otherTypes, null));
+
+        FileMapperOptions databaseMapping = options();
+        databaseMapping.setDatabaseMapping(true);
+        assertNotEquals(key, FileMappingCache.keyOf(databaseMapping, null));
+    }
+
+    @Test
+    void keyDependsOnConnectionWithoutOwner() {
+        FileMapperOptions options = options();
+        options.setObjectOwner(null);
+
+        assertNull(FileMappingCache.keyOf(options, null));
+        assertNotEquals(FileMappingCache.keyOf(options, "jdbc:oracle:thin:@db1|APP"),
+                FileMappingCache.keyOf(options, "jdbc:oracle:thin:@db2|APP"));
+    }
+
+    @Test
+    void ignoresBrokenFiles() throws IOException {
+        String key = FileMappingCache.keyOf(options(), null);
+        Files.write(directory.resolve(key + ".fmc"), new byte[]{1, 2, 3});
+
+        assertNull(new FileMappingCache(directory).load(key));
+    }
+}
@@ -0,0 +1,114 @@
+package org.utplsql.api.testRunner;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.FileMapperOptions;
+import org.utplsql.api.FileMapping;
+import org.utplsql.api.KeyValuePair;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class LocalFileMapperTest {
+
+    private void assertMapping(FileMapping fileMapping, String fileName, String owner, String name, String type) {
+        assertEquals(fileName, fileMapping.getFileName());
+        assertEquals(owner, fileMapping.getObjectOwner());
+        assertEquals(name, fileMapping.getObjectName());
+        assertEquals(type, fileMapping.getObjectType());
+    }
+
+    @Test
+    void maps_with_custom_pattern_and_types() {
+        List<KeyValuePair> typeMappings = new ArrayList<>();
+        typeMappings.add(new KeyValuePair("procedures", "PROCEDURE"));
+        typeMappings.add(new KeyValuePair("functions", "FUNCTION"));
+
+        FileMapperOptions mapperOptions = new FileMapperOptions(Arrays.asList(
+                "sources/app/procedures/award_bonus.sql",
+                "sources/app/functions/betwnstr.sql",
+                "sources/app/views/some_view.sql"));
+        mapperOptions.setObjectOwner("APP");
+        mapperOptions.setTypeMappings(typeMappings);
+        mapperOptions.setRegexPattern("\\w+[\\\\\\/](\\w+)[\\\\\\/](\\w+)[\\\\\\/](\\w+)[.](\\w{3})");
+        mapperOptions.setOwnerSubExpression(1);
+        mapperOptions.setTypeSubExpression(2);
+        mapperOptions.setNameSubExpression(3);
+
+        List<FileMapping> fileMappings = LocalFileMapper.buildFileMappingList(mapperOptions, "CURRENT");
+
+        assertEquals(2, fileMappings.size());
+        assertMapping(fileMappings.get(0), "sources/app/procedures/award_bonus.sql", "APP", "AWARD_BONUS", "PROCEDURE");
+        assertMapping(fileMappings.get(1), "sources/app/functions/betwnstr.sql", "APP", "BETWNSTR", "FUNCTION");
+    }
+
+    @Test
+    void uses_default_pattern_and_types() {
+        FileMapperOptions mapperOptions = new FileMapperOptions(Arrays.asList(
+                "/award_bonus.prc",
+                "C:\\src\\betwnstr.FNC",
+                "/src/hr.package_body.pkb",
+                "/type_body.tpb",
+                "/trigger.trg",
+                "/readme.txt",
+                "no_directory.prc"));
+        mapperOptions.setTypeMappings(new ArrayList<>());
+
+        List<FileMapping> fileMappings = LocalFileMapper.buildFileMappingList(mapperOptions, "current");
+
+        assertEquals(5, fileMappings.size());
+        assertMapping(fileMappings.get(0), "/award_bonus.prc", "CURRENT", "AWARD_BONUS", "PROCEDURE");
+        assertMapping(fileMappings.get(1), "C:\\src\\betwnstr.FNC", "CURRENT", "BETWNSTR", "FUNCTION");
+        assertMapping(fileMappings.get(2), "/src/hr.package_body.pkb", "HR", "PACKAGE_BODY", "PACKAGE BODY");
+        assertMapping(fileMappings.get(3), "/type_body.tpb", "CURRENT", "TYPE_BODY", "TYPE BODY");
+        assertMapping(fileMappings.get(4), "/trigger.trg", "CURRENT", "TRIGGER", "TRIGGER");
+    }
+
+    @Test
+    void matches_types_ignoring_case() {
+        List<KeyValuePair> typeMappings = new ArrayList<>();
+        typeMappings.add(new KeyValuePair("Prc", "procedure"));
+
+        FileMapperOptions mapperOptions = new FileMapperOptions(Arrays.asList(
+                "/Award_Bonus.PRC",
+                "/award_bonus.prc",
+                "/betwnstr.fnc"));
+        mapperOptions.setTypeMappings(typeMappings);
+
+        List<FileMapping> fileMappings = LocalFileMapper.buildFileMappingList(mapperOptions, "current");
+
+        assertEquals(2, fileMappings.size());
+        assertMapping(fileMappings.get(0), "/Award_Bonus.PRC", "CURRENT", "AWARD_BONUS", "PROCEDURE");
+        assertMapping(fileMappings.get(1), "/award_bonus.prc", "CURRENT", "AWARD_BONUS", "PROCEDURE");
+    }
+
+    @Test
+    void matches_pattern_ignoring_case() {
+        List<KeyValuePair> typeMappings = new ArrayList<>();
+        typeMappings.add(new KeyValuePair("functions", "FUNCTION"));
+
+        FileMapperOptions mapperOptions = new FileMapperOptions(Arrays.asList("SOURCES/app/Functions/betwnstr.SQL"));
+        mapperOptions.setTypeMappings(typeMappings);
+        mapperOptions.setRegexPattern("sources/(\\w+)/(\\w+)/(\\w+)[.]sql");
+        mapperOptions.setOwnerSubExpression(1);
+        mapperOptions.setTypeSubExpression(2);
+        mapperOptions.setNameSubExpression(3);
+
+        List<FileMapping> fileMappings = LocalFileMapper.buildFileMappingList(mapperOptions, "current");
+
+        assertEquals(1, fileMappings.size());
+        assertMapping(fileMappings.get(0), "SOURCES/app/Functions/betwnstr.SQL", "APP", "BETWNSTR", "FUNCTION");
+    }
+
+    @Test
+    void prefers_object_owner_over_current_schema() {
+        FileMapperOptions mapperOptions = new FileMapperOptions(Arrays.asList("/award_bonus.prc"));
+        mapperOptions.setObjectOwner("app");
+
+        List<FileMapping> fileMappings = LocalFileMapper.buildFileMappingList(mapperOptions, "CURRENT");
+
+        assertEquals("APP", fileMappings.get(0).getObjectOwner());
+    }
+}
@@ -0,0 +1,57 @@
+package org.utplsql.api.testRunner;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.reporter.realtime.RealtimeEventStream;
+
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class RealtimeSuiteDurationsTest {
+
+    private static final List<String> OUTPUT = Arrays.asList(
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"pre-run\"><items>",
+            "  <suite id=\"org\"><name>org</name><items>",
+            "    <suite id=\"org.test_betwnstr\"><name>test_betwnstr</name><items>",
+            "      <suite id=\"org.test_betwnstr.test_award_bonus\"><name>test_award_bonus</name><items/></suite>",
+            "    </items></suite>",
+            "    <suite id=\"org.test_award_bonus\"><name>test_award_bonus</name><items/></suite>",
+            "  </items></suite>",
+            "  <suite id=\"demo.test_remove_rooms\"><name>test_remove_rooms</name><items/></suite>",
+            "</items><totalNumberOfTests>0</totalNumberOfTests></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-suite\"><suite id=\"org.test_betwnstr.test_award_bonus\"><executionTime>0.5</executionTime></suite></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-suite\"><suite id=\"org.test_betwnstr\"><executionTime>1.25</executionTime></suite></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-suite\"><suite id=\"org.test_award_bonus\"><executionTime>3</executionTime></suite></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-suite\"><suite id=\"org\"><executionTime>4.5</executionTime></suite></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-suite\"><suite id=\"demo.test_remove_rooms\"><executionTime>0.75</executionTime></suite></event>",
+            "<?xml version=\"1.0\"?>",
+            "<event type=\"post-run\"><run><executionTime>5.3</executionTime></run></event>"
+    );
+
+    @Test
+    void collects_durations_of_packages_and_suite_paths() throws SQLException {
+        List<String> paths = Arrays.asList("app.test_award_bonus", "APP.TEST_BETWNSTR", "app:demo.test_remove_rooms",
+                "app.test_betwnstr.normal_case", "app.unknown");
+
+        Map<String, Long> durations;
+        try (RealtimeEventStream events = new RealtimeEventStream(OUTPUT.iterator(), () -> { })) {
+            durations = RealtimeSuiteDurations.collect(events, paths);
+        }
+
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("app.test_award_bonus", 3000L);
+        expected.put("APP.TEST_BETWNSTR", 1250L);
+        expected.put("app:demo.test_remove_rooms", 750L);
+        assertEquals(expected, durations);
+    }
+}
@@ -0,0 +1,158 @@
+package org.utplsql.api.testRunner;
+
+import org.junit.jupiter.api.Test;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+class StatementWatchdogTest {
+
+    @Test
+    void returnsResultInTime() throws Exception {
+        String result = StatementWatchdog.shared()
+                .callWithTimeout(() -> Thread.currentThread().isDaemon() ? "daemon" : "user", 1, TimeUnit.SECONDS);
+
+        assertEquals("daemon", result);
+    }
+
+    @Test
+    void abandonsStuckAction() throws Exception {
+        CountDownLatch interrupted = new CountDownLatch(1);
+
+        assertThrows(TimeoutException.class, () -> StatementWatchdog.shared().callWithTimeout(() -> {
+            try {
+                Thread.sleep(10_000);
+            } catch (InterruptedException e) {
+                interrupted.countDown();
+            }
+            return null;
+        }, 50, TimeUnit.MILLISECONDS));
+
+        assertTrue(interrupted.await(1, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void failsFastIfTooManyThreadsAreStuck() throws Exception {
+        StatementWatchdog watchdog = new StatementWatchdog();
+        CountDownLatch release = new CountDownLatch(1);
+        Callable<Object> stuckAction = () -> {
+            // Ignores interrupts like a driver stuck in a socket read
+            while (release.getCount() > 0) {
+                try {
+                    release.await();
+                } catch (InterruptedException ignored) {
+                }
+            }
+            return null;
+        };
+
+        try {
+            for (int i = 0; i < StatementWatchdog.MAX_STUCK_THREADS; i++) {
+                assertThrows(TimeoutException.class, () -> watchdog.callWithTimeout(stuckAction, 50, TimeUnit.MILLISECONDS));
+            }
+
+            AtomicInteger calls = new AtomicInteger();
+            TimeoutException e = assertThrows(TimeoutException.class,
+                    () -> watchdog.callWithTimeout(calls::incrementAndGet, 1, TimeUnit.SECONDS));
+            assertTrue(e.getMessage().contains("stuck"));
+            assertEquals(0, calls.get());
+        } finally {
+            release.countDown();
+        }
+    }
+
+    @Test
+    void runsMoreSlowPreparationsThanStuckLimitConcurrently() throws Exception {
+        StatementWatchdog watchdog = new StatementWatchdog();
+        int preparations = 2 * StatementWatchdog.MAX_STUCK_THREADS;
+        CountDownLatch allRunning = new CountDownLatch(preparations);
+        Callable<Boolean> slowAction = () -> {
+            allRunning.countDown();
+            return allRunning.await(5, TimeUnit.SECONDS);
+        };
+
+        ExecutorService callers = Executors.newFixedThreadPool(preparations);
+        try {
+            List<Future<Boolean>> results = new ArrayList<>();
+            for (int i = 0; i < preparations; i++) {
+                results.add(callers.submit(() -> watchdog.callWithTimeout(slowAction, 10, TimeUnit.SECONDS)));
+            }
+            for (Future<Boolean> result : results) {
+                assertTrue(result.get(10, TimeUnit.SECONDS));
+            }
+        } finally {
+            callers.shutdownNow();
+        }
+    }
+
+    @Test
+    void releasesStuckThreadsWhenTheyReturn() throws Exception {
+        StatementWatchdog watchdog = new StatementWatchdog();
+        Callable<Object> lateAction = () -> {
+            // Ignores interrupts and returns late, like a driver call which recovers
+            long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(1);
+            while (System.nanoTime() < end) {
+                try {
+                    Thread.sleep(10);
+                } catch (InterruptedException ignored) {
+                }
+            }
+            return null;
+        };
+
+        for (int i = 0; i < StatementWatchdog.MAX_STUCK_THREADS; i++) {
+            assertThrows(TimeoutException.class, () -> watchdog.callWithTimeout(lateAction, 50, TimeUnit.MILLISECONDS));
+        }
+        assertThrows(TimeoutException.class, () -> watchdog.callWithTimeout(() -> "ok", 1, TimeUnit.SECONDS));
+
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        String result = null;
+        while (result == null && System.nanoTime() < deadline) {
+            try {
+                result = watchdog.callWithTimeout(() -> "ok", 1, TimeUnit.SECONDS);
+            } catch (TimeoutException e) {
+                Thread.sleep(20);
+            }
+        }
+        assertEquals("ok", result);
+    }
+
+    @Test
+    void cancelsStatementAfterDeadline() throws Exception {
+        TestRunnerStatement statement = mock(TestRunnerStatement.class);
+        CountDownLatch cancelled = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            cancelled.countDown();
+            return null;
+        }).when(statement).cancel();
+
+        try (StatementWatchdog.Deadline deadline = StatementWatchdog.shared().watch(statement, 20, TimeUnit.MILLISECONDS)) {
+            assertTrue(cancelled.await(1, TimeUnit.SECONDS));
+            assertTrue(deadline.isExpired());
+        }
+    }
+
+    @Test
+    void closedDeadlineDoesNotCancel() throws SQLException, InterruptedException {
+        TestRunnerStatement statement = mock(TestRunnerStatement.class);
+
+        StatementWatchdog.Deadline deadline = StatementWatchdog.shared().watch(statement, 50, TimeUnit.MILLISECONDS);
+        deadline.close();
+        Thread.sleep(100);
+
+        assertFalse(deadline.isExpired());
+        verify(statement, never()).cancel();
+    }
+}
@@ -0,0 +1,91 @@
+package org.utplsql.api.testRunner;
+
+import org.junit.jupiter.api.Test;
+import org.utplsql.api.Version;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+class SuiteDiscoveryTest {
+
+    @Test
+    void recognizesSchemaPaths() {
+        assertTrue(SuiteDiscovery.isSchemaPath("app"));
+        assertFalse(SuiteDiscovery.isSchemaPath("app.test_pkg"));
+        assertFalse(SuiteDiscovery.isSchemaPath("app:org.example"));
+    }
+
+    private static PreparedStatement userStatement(Connection conn, boolean exists) throws SQLException {
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(contains("all_users"))).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        when(rs.next()).thenReturn(exists);
+        return stmt;
+    }
+
+    private static PreparedStatement suitesStatement(Connection conn, List<String> suites) throws SQLException {
+        PreparedStatement stmt = mock(PreparedStatement.class);
+        ResultSet rs = mock(ResultSet.class);
+        when(conn.prepareStatement(contains("get_suites_info"))).thenReturn(stmt);
+        when(stmt.executeQuery()).thenReturn(rs);
+        Iterator<String> remaining = suites.iterator();
+        when(rs.next()).thenAnswer(invocation -> remaining.hasNext());
+        when(rs.getString(1)).thenAnswer(invocation -> remaining.next());
+        return stmt;
+    }
+
+    @Test
+    void expandsSchemaPaths() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement userStmt = userStatement(conn, true);
+        PreparedStatement suitesStmt = suitesStatement(conn, Arrays.asList("app.test_b", "app.test_a"));
+
+        assertEquals(Arrays.asList("app.test_a", "app.test_b", "other.test_pkg"),
+                SuiteDiscovery.discover(conn, Arrays.asList("other.test_pkg", "app", "app.test_a"), Version.V3_1_8));
+        verify(userStmt).setString(1, "APP");
+        verify(suitesStmt).setString(1, "APP");
+    }
+
+    @Test
+    void keepsBarePackagePaths() throws SQLException {
+        Connection conn = mock(Connection.class);
+        PreparedStatement userStmt = userStatement(conn, false);
+        PreparedStatement suitesStmt = suitesStatement(conn, Collections.emptyList());
+
+        assertEquals(Arrays.asList("app.test_a", "test_betwnstr"),
+                SuiteDiscovery.discover(conn, Arrays.asList("test_betwnstr", "app.test_a"), Version.V3_1_8));
+        verify(userStmt).setString(1, "TEST_BETWNSTR");
+        verifyZeroInteractions(suitesStmt);
+    }
+
+    @Test
+    void keepsSchemasWithoutSuites() throws SQLException {
+        Connection conn = mock(Connection.class);
+        userStatement(conn, true);
+        suitesStatement(conn, Collections.emptyList());
+
+        assertEquals(Collections.singletonList("app"),
+                SuiteDiscovery.discover(conn, Arrays.asList("app"), Version.V3_1_8));
+    }
+
+    @Test
+    void keepsPathsOnOldFrameworks() throws SQLException {
+        Connection conn = mock(Connection.class);
+
+        assertEquals(Arrays.asList("app", "app.test_a"),
+                SuiteDiscovery.discover(conn, Arrays.asList("app.test_a", "app"), Version.V3_1_2));
+        verifyZeroInteractions(conn);
+    }
+}
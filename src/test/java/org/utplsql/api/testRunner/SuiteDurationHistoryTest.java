@@ -0,0 +1,83 @@
+package org.utplsql.api.testRunner;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+class SuiteDurationHistoryTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void estimatesUnknownPathsAsAverage() {
+        SuiteDurationHistory history = SuiteDurationHistory.load(directory.resolve("history"));
+
+        assertEquals(SuiteDurationHistory.DEFAULT_DURATION_MILLIS, history.estimate("app"));
+
+        history.record("app.slow", 9000);
+        history.record("app.fast", 1000);
+
+        assertEquals(5000, history.estimate("app.unknown"));
+    }
+
+    @Test
+    void averagesWithRecordedDuration() {
+        SuiteDurationHistory history = SuiteDurationHistory.load(directory.resolve("history"));
+        history.record("app.slow", 3000);
+        history.record("app.fast", 1000);
+
+        history.record("app.slow", 5000);
+
+        assertEquals(Long.valueOf((3000 + 5000) / 2), history.getDuration("app.slow"));
+        assertEquals(Long.valueOf(1000), history.getDuration("app.fast"));
+    }
+
+    @Test
+    void savesAndLoads() throws IOException {
+        Path file = directory.resolve("sub").resolve("history");
+        SuiteDurationHistory history = SuiteDurationHistory.load(file);
+        history.record("app:org.example", 1234);
+        history.save();
+
+        SuiteDurationHistory loaded = SuiteDurationHistory.load(file);
+
+        assertEquals(Long.valueOf(1234), loaded.getDuration("app:org.example"));
+        assertNull(loaded.getDuration("app"));
+        assertEquals(Collections.singletonList("app:org.example\t1234"), Files.readAllLines(file));
+    }
+
+    @Test
+    void emptyHistoryReplacesFile() throws IOException {
+        Path file = directory.resolve("shard-0");
+        Files.write(file, Collections.singletonList("app.old\t1000"));
+
+        SuiteDurationHistory measurements = SuiteDurationHistory.empty(file);
+        assertNull(measurements.getDuration("app.old"));
+        measurements.record("app.new", 2000);
+        measurements.save();
+
+        assertEquals(Collections.singletonList("app.new\t2000"), Files.readAllLines(file));
+    }
+
+    @Test
+    void mergesMeasurementsOfShards() {
+        SuiteDurationHistory history = SuiteDurationHistory.load(directory.resolve("history"));
+        history.record("app.slow", 3000);
+        SuiteDurationHistory shard = SuiteDurationHistory.empty(directory.resolve("shard-1"));
+        shard.record("app.slow", 5000);
+        shard.record("app.fast", 1000);
+
+        history.merge(shard);
+
+        assertEquals(Long.valueOf((3000 + 5000) / 2), history.getDuration("app.slow"));
+        assertEquals(Long.valueOf(1000), history.getDuration("app.fast"));
+    }
+}
@@ -0,0 +1,112 @@
+package org.utplsql.api.testRunner;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class SuitePartitionerTest {
+
+    @Test
+    void distributes_round_robin() {
+        List<List<String>> shards = SuitePartitioner.roundRobin(Arrays.asList("a", "b", "c", "d", "e"), 2);
+
+        assertEquals(2, shards.size());
+        assertEquals(Arrays.asList("a", "c", "e"), shards.get(0));
+        assertEquals(Arrays.asList("b", "d"), shards.get(1));
+    }
+
+    @Test
+    void returns_no_empty_shards() {
+        List<List<String>> shards = SuitePartitioner.roundRobin(Arrays.asList("a", "b"), 5);
+
+        assertEquals(2, shards.size());
+        assertTrue(SuitePartitioner.roundRobin(Collections.emptyList(), 5).isEmpty());
+    }
+
+    @Test
+    void rejects_invalid_shard_count() {
+        assertThrows(IllegalArgumentException.class, () -> SuitePartitioner.roundRobin(Arrays.asList("a"), 0));
+    }
+
+    @Test
+    void distributes_longest_first() {
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("integration", 720L);
+        durations.put("a", 30L);
+        durations.put("b", 30L);
+        durations.put("c", 20L);
+        durations.put("d", 10L);
+
+        List<List<String>> shards = SuitePartitioner.longestProcessingTimeFirst(
+                Arrays.asList("a", "b", "integration", "c", "d"), 2, durations::get);
+
+        assertEquals(2, shards.size());
+        assertEquals(Collections.singletonList("integration"), shards.get(0));
+        assertEquals(Arrays.asList("a", "b", "c", "d"), shards.get(1));
+    }
+
+    @Test
+    void longest_first_balances_equal_durations() {
+        List<List<String>> shards = SuitePartitioner.longestProcessingTimeFirst(
+                Arrays.asList("a", "b", "c", "d", "e", "f"), 3, path -> 10L);
+
+        assertEquals(3, shards.size());
+        for (List<String> shard : shards) {
+            assertEquals(2, shard.size());
+        }
+        assertTrue(SuitePartitioner.longestProcessingTimeFirst(Collections.emptyList(), 3, path -> 10L).isEmpty());
+    }
+
+    @Test
+    void slices_are_disjoint_and_complete() {
+        List<String> paths = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            paths.add("app.test_pkg_" + i);
+        }
+
+        Set<String> seen = new HashSet<>();
+        for (int i = 0; i < 8; i++) {
+            for (String path : SuitePartitioner.slice(paths, i, 8, null)) {
+                assertTrue(seen.add(path));
+            }
+        }
+        assertEquals(new HashSet<>(paths), seen);
+    }
+
+    @Test
+    void hash_slices_are_stable() {
+        List<String> paths = Arrays.asList("app.a", "app.b", "app.c", "app.d");
+        List<String> slice = SuitePartitioner.slice(paths, 1, 3, null);
+
+        List<String> morePaths = new ArrayList<>(paths);
+        morePaths.add("app.e");
+        List<String> newSlice = SuitePartitioner.slice(morePaths, 1, 3, null);
+        newSlice.remove("app.e");
+
+        assertEquals(slice, newSlice);
+    }
+
+    @Test
+    void weighted_slices_use_durations() {
+        Map<String, Long> durations = new HashMap<>();
+        durations.put("a", 100L);
+        durations.put("b", 10L);
+        durations.put("c", 10L);
+
+        assertEquals(Collections.singletonList("a"), SuitePartitioner.slice(Arrays.asList("a", "b", "c"), 0, 2, durations::get));
+        assertEquals(Arrays.asList("b", "c"), SuitePartitioner.slice(Arrays.asList("a", "b", "c"), 1, 2, durations::get));
+        assertTrue(SuitePartitioner.slice(Collections.singletonList("a"), 1, 2, durations::get).isEmpty());
+        assertThrows(IllegalArgumentException.class, () -> SuitePartitioner.slice(Arrays.asList("a"), 2, 2, null));
+    }
+}